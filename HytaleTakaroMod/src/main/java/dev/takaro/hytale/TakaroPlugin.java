@@ -10,13 +10,22 @@
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.logger.backend.HytaleLoggerBackend;
 import dev.takaro.hytale.api.HytaleApiClient;
+import dev.takaro.hytale.chat.ChatFilter;
+import dev.takaro.hytale.chat.SpamDetector;
 import dev.takaro.hytale.commands.TakaroDebugCommand;
 import dev.takaro.hytale.config.TakaroConfig;
 import dev.takaro.hytale.events.ChatEventListener;
+import dev.takaro.hytale.events.EventRateLimiter;
+import dev.takaro.hytale.events.GameEvent;
 import dev.takaro.hytale.events.PlayerDeathSystem;
 import dev.takaro.hytale.events.PlayerEventListener;
 import dev.takaro.hytale.events.TakaroLogHandler;
 import dev.takaro.hytale.handlers.TakaroRequestHandler;
+import dev.takaro.hytale.items.ItemCatalog;
+import dev.takaro.hytale.players.PlayerDirectory;
+import dev.takaro.hytale.players.PlayerStyleStore;
+import dev.takaro.hytale.websocket.InboundMessage;
+import dev.takaro.hytale.websocket.TakaroConnectionGroup;
 import dev.takaro.hytale.websocket.TakaroWebSocket;
 
 import javax.annotation.Nonnull;
@@ -27,8 +36,7 @@
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -39,14 +47,18 @@ public class TakaroPlugin extends JavaPlugin {
     private static final int HEARTBEAT_INTERVAL_SECONDS = 300; // 5 minutes
 
     private TakaroConfig config;
-    private TakaroWebSocket webSocket;
-    private TakaroWebSocket devWebSocket; // Optional dev Takaro connection
+    // Production Takaro, optional dev Takaro and any extra endpoints
+    private TakaroConnectionGroup connections;
+    // Drops events over their per-type / per-player rate before any serialization (null if disabled)
+    private EventRateLimiter eventLimiter;
     private TakaroRequestHandler requestHandler;
     private HytaleApiClient hytaleApi; // Hidden feature - not in user config yet
     private ChatEventListener chatListener;
     private PlayerEventListener playerListener;
     private PlayerDeathSystem deathSystem;
     private TakaroLogHandler logHandler;
+    private PlayerDirectory playerDirectory;
+    private ItemCatalog itemCatalog;
     private ScheduledExecutorService telemetryScheduler;
 
     // HytaleCharts integration
@@ -54,9 +66,12 @@ public class TakaroPlugin extends JavaPlugin {
     private ScheduledExecutorService hytaleChartsScheduler;
     private volatile int trackedPlayerCount = 0;
 
-    // Cache for player name colors (UUID -> color code)
-    // Set by Takaro via setPlayerNameColor action
-    private final ConcurrentHashMap<String, String> playerNameColors = new ConcurrentHashMap<>();
+    // Word filter applied to chat inline, word list pushed by Takaro via setChatFilter
+    private ChatFilter chatFilter;
+    // Per-player chat flood detection, null if disabled
+    private SpamDetector spamDetector;
+    // Player name colors set by Takaro via setPlayerNameColor, persisted across restarts
+    private PlayerStyleStore playerStyles;
 
     public TakaroPlugin(@Nonnull JavaPluginInit init) {
         super(init);
@@ -70,6 +85,11 @@ protected void setup() {
         File configFile = getFile().getParent().resolve("HytaleTakaroMod").resolve("TakaroConfig.properties").toFile();
         config = new TakaroConfig(configFile);
 
+        if (config.isRateLimitEnabled()) {
+            eventLimiter = new EventRateLimiter(config.getRateLimitEvents(), config.getRateLimitPlayer(),
+                config.getRateLimitPlayerEvents(), config.getCommandPrefix());
+        }
+
         // Initialize Hytale API client (hidden feature - optional)
         hytaleApi = new HytaleApiClient(this, config.getHytaleApiUrl());
         if (!config.getHytaleApiToken().isEmpty()) {
@@ -82,6 +102,16 @@ protected void setup() {
             .connectTimeout(Duration.ofSeconds(10))
             .build();
 
+        // Initialize online player index (used by request handlers for lookups)
+        playerDirectory = new PlayerDirectory(this);
+        chatFilter = new ChatFilter(config.getChatFilterWords(),
+            ChatFilter.Mode.parse(config.getChatFilterMode(), ChatFilter.Mode.MASK), config.isChatFilterWholeWords());
+        spamDetector = config.isSpamEnabled() ? new SpamDetector(config) : null;
+        playerStyles = new PlayerStyleStore(this, config.getDataDirectory().toPath().resolve("player-styles.dat"));
+
+        // Item catalog for listItems (built once items are loaded)
+        itemCatalog = new ItemCatalog(this);
+
         // Initialize request handler
         requestHandler = new TakaroRequestHandler(this, hytaleApi);
 
@@ -112,6 +142,16 @@ protected void setup() {
      */
     private void registerEvents() {
         try {
+            // Register player directory first so listeners and requests see the player
+            this.getEventRegistry().registerGlobal(
+                com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent.class,
+                playerDirectory::onPlayerConnect
+            );
+            this.getEventRegistry().registerGlobal(
+                com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent.class,
+                playerDirectory::onPlayerDisconnect
+            );
+
             // Register chat event
             this.getEventRegistry().registerGlobal(
                 com.hypixel.hytale.server.core.event.events.player.PlayerChatEvent.class,
@@ -159,36 +199,22 @@ protected void start() {
         super.start();
         getLogger().at(java.util.logging.Level.INFO).log("Starting Takaro WebSocket connection...");
 
-        // Check if items are loaded
+        // Seed player index with anyone already online and start reconciling
+        playerDirectory.start();
+        playerStyles.preload();
+
+        // Check if items are loaded and build the item catalog up front
         try {
-            com.hypixel.hytale.server.core.asset.type.item.config.Item.getAssetMap();
-            int itemCount = com.hypixel.hytale.server.core.asset.type.item.config.Item.getAssetMap().getAssetMap().size();
+            ItemCatalog.Snapshot catalog = itemCatalog.current();
+            int itemCount = catalog != null ? catalog.size() : 0;
             getLogger().at(java.util.logging.Level.INFO).log("Items loaded: " + itemCount + " items available");
         } catch (Exception e) {
             getLogger().at(java.util.logging.Level.WARNING).log("Could not check items at startup: " + e.getMessage());
         }
 
-        // Connect to production Takaro
-        try {
-            webSocket = new TakaroWebSocket(this, config, false); // false = production
-            webSocket.connect();
-            getLogger().at(java.util.logging.Level.INFO).log("Connecting to Takaro at " + config.getWsUrl());
-        } catch (Exception e) {
-            getLogger().at(java.util.logging.Level.SEVERE).log("Failed to start WebSocket connection: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        // Connect to dev Takaro (if enabled)
-        if (config.isDevEnabled()) {
-            try {
-                devWebSocket = new TakaroWebSocket(this, config, true); // true = dev
-                devWebSocket.connect();
-                getLogger().at(java.util.logging.Level.INFO).log("Connecting to Dev Takaro at " + config.getDevWsUrl());
-            } catch (Exception e) {
-                getLogger().at(java.util.logging.Level.SEVERE).log("Failed to start Dev WebSocket connection: " + e.getMessage());
-                e.printStackTrace();
-            }
-        }
+        // Connect to production Takaro, dev Takaro (if enabled) and any extra endpoints
+        connections = new TakaroConnectionGroup(this);
+        connections.connectAll(config);
 
         // Start telemetry reporting to Hytale API (optional - only if token configured)
         if (!config.getHytaleApiToken().isEmpty()) {
@@ -200,7 +226,8 @@ protected void start() {
         // Start HytaleCharts integration (if configured)
         startHytaleCharts();
 
-        // Start log forwarding to Takaro
+        // Start chat and log forwarding to Takaro
+        chatListener.start();
         logHandler.start();
     }
 
@@ -428,6 +455,10 @@ protected void shutdown() {
         super.shutdown();
         getLogger().at(java.util.logging.Level.INFO).log("Shutting down Takaro integration...");
 
+        if (chatListener != null) {
+            chatListener.stop();
+        }
+
         if (logHandler != null) {
             HytaleLoggerBackend.unsubscribe(logHandler.getLogBuffer());
             logHandler.stop();
@@ -441,12 +472,24 @@ protected void shutdown() {
             hytaleChartsScheduler.shutdown();
         }
 
-        if (webSocket != null) {
-            webSocket.shutdown();
+        if (requestHandler != null) {
+            requestHandler.shutdown();
+        }
+
+        if (playerDirectory != null) {
+            playerDirectory.stop();
         }
 
-        if (devWebSocket != null) {
-            devWebSocket.shutdown();
+        if (playerStyles != null) {
+            playerStyles.stop();
+        }
+
+        if (chatFilter != null) {
+            chatFilter.shutdown();
+        }
+
+        if (connections != null) {
+            connections.shutdown();
         }
 
         if (hytaleApi != null) {
@@ -454,65 +497,117 @@ protected void shutdown() {
         }
     }
 
-    public void handleTakaroRequest(TakaroWebSocket sourceWebSocket, String requestId, String action, JsonObject payload) {
-        requestHandler.handleRequest(sourceWebSocket, requestId, action, payload);
+    public void handleTakaroRequest(TakaroWebSocket sourceWebSocket, InboundMessage request) {
+        requestHandler.handleRequest(sourceWebSocket, request);
     }
 
+    /**
+     * Production Takaro connection
+     */
     public TakaroWebSocket getWebSocket() {
-        return webSocket;
+        return connections != null ? connections.get(TakaroConfig.PRIMARY_ENDPOINT) : null;
     }
 
     public TakaroWebSocket getDevWebSocket() {
-        return devWebSocket;
+        return connections != null ? connections.get(TakaroConfig.DEV_ENDPOINT) : null;
+    }
+
+    public TakaroConnectionGroup getConnections() {
+        return connections;
     }
 
     public TakaroConfig getConfig() {
         return config;
     }
 
+    public TakaroRequestHandler getRequestHandler() {
+        return requestHandler;
+    }
+
+    public TakaroLogHandler getLogHandler() {
+        return logHandler;
+    }
+
+    public PlayerDirectory getPlayerDirectory() {
+        return playerDirectory;
+    }
+
+    public ItemCatalog getItemCatalog() {
+        return itemCatalog;
+    }
+
     public String getVersion() {
         return VERSION;
     }
 
     /**
-     * Send game event to all active Takaro connections (production and dev if enabled)
-     * @param eventType Type of event
-     * @param data Event data
+     * Send game event to all active Takaro connections, subject to each endpoint's event filter
+     * @param event Event to send - serialized once and shared by every connection
      */
-    public void sendGameEventToAll(String eventType, Map<String, Object> data) {
-        // Send to production
-        if (webSocket != null) {
-            webSocket.sendGameEvent(eventType, data);
+    public void sendGameEventToAll(GameEvent event) {
+        if (connections == null) {
+            return;
         }
-        // Send to dev (if enabled and connected)
-        // Dev Takaro doesn't support log events or chat events - only send player-connected/disconnected
-        if (devWebSocket != null && !eventType.equals("log") && !eventType.equals("chat-message")) {
-            devWebSocket.sendGameEvent(eventType, data);
+        if (eventLimiter != null && !eventLimiter.tryAcquire(event)) {
+            return;
         }
+        connections.publish(event);
     }
 
     /**
-     * Get a player's name color from cache
-     * @param uuid Player UUID
-     * @return Color code (e.g., "gold", "ff0000") or null if not set
+     * @return the event rate limiter, or null if rate limiting is disabled
      */
-    public String getPlayerNameColor(String uuid) {
-        return playerNameColors.get(uuid);
+    public EventRateLimiter getEventLimiter() {
+        return eventLimiter;
+    }
+
+    public ChatFilter getChatFilter() {
+        return chatFilter;
     }
 
     /**
-     * Set a player's name color in cache
+     * @return the chat spam detector, or null if spam detection is disabled
+     */
+    public SpamDetector getSpamDetector() {
+        return spamDetector;
+    }
+
+    public ChatEventListener getChatListener() {
+        return chatListener;
+    }
+
+    /**
+     * Player name colors, parsed when set
+     */
+    public PlayerStyleStore getPlayerStyles() {
+        return playerStyles;
+    }
+
+    /**
+     * Set a player's name color
      * Called by Takaro via setPlayerNameColor action
      * @param uuid Player UUID
-     * @param colorCode Color code (e.g., "gold", "ff0000")
+     * @param colorCode Color code (e.g., "gold", "ff0000"), or null/empty to remove
+     * @return false if the UUID is invalid or the color unknown (the player then has no custom color)
      */
-    public void setPlayerNameColor(String uuid, String colorCode) {
+    public boolean setPlayerNameColor(String uuid, String colorCode) {
+        UUID playerUuid;
+        try {
+            playerUuid = UUID.fromString(uuid);
+        } catch (IllegalArgumentException e) {
+            getLogger().at(java.util.logging.Level.WARNING).log("Not setting name color - invalid player UUID: " + uuid);
+            return false;
+        }
+
         if (colorCode == null || colorCode.isEmpty()) {
-            playerNameColors.remove(uuid);
+            playerStyles.setNameColor(playerUuid, null);
             getLogger().at(java.util.logging.Level.INFO).log("Removed name color for player: " + uuid);
-        } else {
-            playerNameColors.put(uuid, colorCode);
+        } else if (playerStyles.setNameColor(playerUuid, colorCode)) {
             getLogger().at(java.util.logging.Level.INFO).log("Set name color for player " + uuid + ": " + colorCode);
+        } else {
+            getLogger().at(java.util.logging.Level.WARNING).log("Unknown color '" + colorCode + "' for player " + uuid + " - using default name color");
+            return false;
         }
+        return true;
     }
 }
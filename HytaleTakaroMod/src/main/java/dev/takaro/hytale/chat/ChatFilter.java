@@ -0,0 +1,161 @@
+package dev.takaro.hytale.chat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process word filter for player chat. Checks run inline on the chat thread in time
+ * proportional to the message length; word list updates from Takaro are compiled on a
+ * background thread and swapped in atomically, so a check always sees one complete list.
+ */
+public class ChatFilter {
+    public enum Mode {
+        OFF,     // Words are kept but nothing is filtered
+        MASK,    // Matched words are replaced with '*'
+        CANCEL;  // Messages containing a word are not shown
+
+        /**
+         * @return the mode named (case-insensitive), or {@code fallback} if unknown
+         */
+        public static Mode parse(String value, Mode fallback) {
+            if (value == null) {
+                return fallback;
+            }
+            try {
+                return Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return fallback;
+            }
+        }
+    }
+
+    public enum Verdict { PASS, MASKED, BLOCKED }
+
+    /**
+     * Outcome of a check; {@code text} is what should be shown (the original when PASS)
+     */
+    public record Result(Verdict verdict, String text) {
+    }
+
+    /**
+     * A compiled word list with the settings it applies under
+     */
+    private record Rules(FilterAutomaton automaton, Mode mode, boolean wholeWords) {
+    }
+
+    private static final char MASK_CHAR = '*';
+
+    private final AtomicReference<Rules> rules;
+    // Single thread, so updates are applied in the order Takaro sent them
+    private final ExecutorService compiler = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "Takaro-ChatFilter");
+        t.setDaemon(true);
+        return t;
+    });
+    private final LongAdder masked = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+
+    public ChatFilter(String initialWords, Mode mode, boolean wholeWords) {
+        this.rules = new AtomicReference<>(new Rules(new FilterAutomaton(splitWords(initialWords)), mode, wholeWords));
+    }
+
+    /**
+     * Check a chat message against the current word list
+     */
+    public Result check(String message) {
+        Rules current = rules.get();
+        if (current.mode() == Mode.OFF || current.automaton().isEmpty() || message == null || message.isEmpty()) {
+            return new Result(Verdict.PASS, message);
+        }
+
+        if (current.mode() == Mode.CANCEL) {
+            boolean[] found = new boolean[1];
+            current.automaton().scan(message, current.wholeWords(), (start, end) -> {
+                found[0] = true;
+                return false;
+            });
+            if (found[0]) {
+                blocked.increment();
+                return new Result(Verdict.BLOCKED, message);
+            }
+            return new Result(Verdict.PASS, message);
+        }
+
+        char[][] chars = new char[1][];
+        current.automaton().scan(message, current.wholeWords(), (start, end) -> {
+            if (chars[0] == null) {
+                chars[0] = message.toCharArray();
+            }
+            for (int i = start; i < end; i++) {
+                if (!Character.isWhitespace(chars[0][i])) {
+                    chars[0][i] = MASK_CHAR;
+                }
+            }
+            return true;
+        });
+        if (chars[0] == null) {
+            return new Result(Verdict.PASS, message);
+        }
+        masked.increment();
+        return new Result(Verdict.MASKED, new String(chars[0]));
+    }
+
+    /**
+     * Replace the word list (and optionally the mode/whole-word setting) once it has
+     * compiled in the background
+     * @param words newline or comma separated, or null to keep the current list
+     * @param mode new mode, or null to keep the current one
+     * @param wholeWords new setting, or null to keep the current one
+     * @return completes with the number of distinct words in effect
+     */
+    public CompletableFuture<Integer> update(String words, Mode mode, Boolean wholeWords) {
+        return CompletableFuture.supplyAsync(() -> {
+            Rules current = rules.get();
+            FilterAutomaton automaton = words != null ? new FilterAutomaton(splitWords(words)) : current.automaton();
+            rules.set(new Rules(automaton,
+                mode != null ? mode : current.mode(),
+                wholeWords != null ? wholeWords : current.wholeWords()));
+            return automaton.getWordCount();
+        }, compiler);
+    }
+
+    public Mode getMode() {
+        return rules.get().mode();
+    }
+
+    public int getWordCount() {
+        return rules.get().automaton().getWordCount();
+    }
+
+    public long getMaskedCount() {
+        return masked.sum();
+    }
+
+    public long getBlockedCount() {
+        return blocked.sum();
+    }
+
+    public void shutdown() {
+        compiler.shutdownNow();
+    }
+
+    private static List<String> splitWords(String words) {
+        List<String> list = new ArrayList<>();
+        if (words == null) {
+            return list;
+        }
+        for (String word : words.split("[,\\n]")) {
+            String trimmed = word.trim();
+            if (!trimmed.isEmpty()) {
+                list.add(trimmed);
+            }
+        }
+        return list;
+    }
+}
@@ -0,0 +1,185 @@
+package dev.takaro.hytale.chat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aho-Corasick automaton over folded text ({@link TextFolding}), compiled to a dense
+ * transition table so scanning a message is one table read per character regardless of
+ * how many words are listed. Immutable once built; safe to share between threads.
+ */
+public final class FilterAutomaton {
+    /** Longest word kept; longer entries are truncated */
+    static final int MAX_WORD_LENGTH = 64;
+
+    public static final FilterAutomaton EMPTY = new FilterAutomaton(List.of());
+
+    private final char[] classOf;      // Folded char -> alphabet class (0 = in no word)
+    private final int classes;
+    private final int[] next;          // state * classes + class -> state
+    private final int[] matchLength;   // Longest word ending at each state, 0 if none
+    private final int[] outputLink;    // Next state on the failure chain with a match, -1 if none
+    private final int maxLength;
+    private final int wordCount;
+
+    /**
+     * Receives matches as ranges of the original text
+     */
+    @FunctionalInterface
+    interface MatchSink {
+        /**
+         * @return false to stop scanning
+         */
+        boolean onMatch(int start, int end);
+    }
+
+    public FilterAutomaton(Collection<String> words) {
+        // Fold the words the same way messages are folded
+        List<String> folded = new ArrayList<>();
+        for (String word : words) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < word.length() && sb.length() < MAX_WORD_LENGTH; i++) {
+                char c = TextFolding.fold(word.charAt(i));
+                if (c != TextFolding.IGNORED) {
+                    sb.append(c);
+                }
+            }
+            if (sb.length() > 0) {
+                folded.add(sb.toString());
+            }
+        }
+
+        // Alphabet classes for the characters that appear in any word
+        char[] classMap = new char[Character.MAX_VALUE + 1];
+        int classCount = 1;
+        for (String word : folded) {
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                if (classMap[c] == 0) {
+                    classMap[c] = (char) classCount++;
+                }
+            }
+        }
+
+        // Trie
+        List<Map<Integer, Integer>> children = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        children.add(new HashMap<>());
+        lengths.add(0);
+        int longest = 0;
+        int distinct = 0;
+        for (String word : folded) {
+            int state = 0;
+            for (int i = 0; i < word.length(); i++) {
+                int cls = classMap[word.charAt(i)];
+                Integer child = children.get(state).get(cls);
+                if (child == null) {
+                    child = children.size();
+                    children.get(state).put(cls, child);
+                    children.add(new HashMap<>());
+                    lengths.add(0);
+                }
+                state = child;
+            }
+            if (lengths.get(state) == 0) {
+                distinct++;
+            }
+            lengths.set(state, word.length());
+            longest = Math.max(longest, word.length());
+        }
+
+        // Breadth-first: failure links, then the full transition table
+        int states = children.size();
+        int[] table = new int[states * classCount];
+        int[] fail = new int[states];
+        int[] output = new int[states];
+        int[] matches = new int[states];
+        for (int s = 0; s < states; s++) {
+            matches[s] = lengths.get(s);
+        }
+        output[0] = -1;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int cls = 0; cls < classCount; cls++) {
+            Integer child = children.get(0).get(cls);
+            if (child != null && cls != 0) {
+                table[cls] = child;
+                fail[child] = 0;
+                output[child] = -1;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int cls = 1; cls < classCount; cls++) {
+                Integer child = children.get(state).get(cls);
+                int fallback = table[fail[state] * classCount + cls];
+                if (child == null) {
+                    table[state * classCount + cls] = fallback;
+                    continue;
+                }
+                table[state * classCount + cls] = child;
+                fail[child] = fallback;
+                output[child] = matches[fallback] > 0 ? fallback : output[fallback];
+                queue.add(child);
+            }
+        }
+
+        this.classOf = classMap;
+        this.classes = classCount;
+        this.next = table;
+        this.matchLength = matches;
+        this.outputLink = output;
+        this.maxLength = longest;
+        this.wordCount = distinct;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public boolean isEmpty() {
+        return wordCount == 0;
+    }
+
+    /**
+     * Report every listed word found in {@code text} as an original-text range.
+     * With {@code wholeWords}, a match must not be glued to a letter or digit on either side.
+     */
+    void scan(String text, boolean wholeWords, MatchSink sink) {
+        if (wordCount == 0) {
+            return;
+        }
+        // Original index of the last maxLength folded characters, to map matches back
+        int[] positions = new int[maxLength];
+        int folded = 0;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = TextFolding.fold(text.charAt(i));
+            if (c == TextFolding.IGNORED) {
+                continue;
+            }
+            positions[folded % maxLength] = i;
+            folded++;
+            state = next[state * classes + classOf[c]];
+
+            for (int s = matchLength[state] > 0 ? state : outputLink[state]; s > 0; s = outputLink[s]) {
+                int start = positions[(folded - matchLength[s]) % maxLength];
+                int end = i + 1;
+                if (wholeWords && !(isBoundary(text, start - 1) && isBoundary(text, end))) {
+                    continue;
+                }
+                if (!sink.onMatch(start, end)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean isBoundary(String text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+}
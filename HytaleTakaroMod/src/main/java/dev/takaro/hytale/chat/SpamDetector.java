@@ -0,0 +1,289 @@
+package dev.takaro.hytale.chat;
+
+import dev.takaro.hytale.config.TakaroConfig;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local chat flood detection, so floods are handled without a Takaro round trip per line.
+ * Each online player gets a slot index; their recent messages live in flat primitive
+ * rings (send time + content hash) indexed by that slot, and a check is one pass over
+ * the message plus a few array reads. Three rules, first match wins:
+ * <ul>
+ *   <li>RATE - more than N messages within the window</li>
+ *   <li>REPEAT - the same text (case, spacing and punctuation ignored) sent repeatedly</li>
+ *   <li>CAPS - mostly uppercase letters in a message long enough to judge</li>
+ * </ul>
+ * A player's messages are expected to arrive one at a time (the player's own thread);
+ * different players may be checked concurrently.
+ */
+public class SpamDetector {
+    public enum Violation { NONE, MUTED, RATE, REPEAT, CAPS }
+
+    public enum Action { CANCEL, MUTE, REPORT }
+
+    private static final long EMPTY_HASH = 0L;
+    private static final long REPORT_COOLDOWN_NANOS = 30_000_000_000L;
+
+    private final int capacity;
+    private final int history;          // Ring length per player
+    private final int rateMessages;
+    private final long rateWindowNanos;
+    private final int repeatHistory;
+    private final int repeatLimit;
+    private final long repeatWindowNanos;
+    private final int capsPercent;
+    private final int capsMinLetters;
+    private final long muteNanos;
+    private final Set<Action> actions;
+
+    private final ConcurrentHashMap<UUID, Integer> slots = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Integer> freeSlots = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    // Mute deadlines of players who left while muted, restored when they come back
+    private final ConcurrentHashMap<UUID, Long> carriedMutes = new ConcurrentHashMap<>();
+
+    // Per slot; rings are slot * history + position
+    private final long[] times;
+    private final long[] hashes;
+    private final int[] heads;
+    private final int[] counts;
+    private final boolean[] muted;
+    private final long[] mutedUntil;
+    private final long[] lastReport;
+    private final boolean[] reported;
+
+    private final LongAdder[] violations = new LongAdder[Violation.values().length];
+
+    public SpamDetector(TakaroConfig config) {
+        this.capacity = Math.max(1, config.getSpamMaxPlayers());
+        this.rateMessages = Math.max(1, config.getSpamRateMessages());
+        this.rateWindowNanos = config.getSpamRateWindowMs() * 1_000_000L;
+        this.repeatHistory = Math.max(1, config.getSpamRepeatHistory());
+        this.repeatLimit = Math.max(1, config.getSpamRepeatLimit());
+        this.repeatWindowNanos = config.getSpamRepeatWindowSeconds() * 1_000_000_000L;
+        this.capsPercent = config.getSpamCapsPercent();
+        this.capsMinLetters = Math.max(1, config.getSpamCapsMinLetters());
+        this.muteNanos = config.getSpamMuteSeconds() * 1_000_000_000L;
+        this.actions = parseActions(config.getSpamActions());
+        this.history = Math.max(rateMessages, repeatHistory);
+
+        this.times = new long[capacity * history];
+        this.hashes = new long[capacity * history];
+        this.heads = new int[capacity];
+        this.counts = new int[capacity];
+        this.muted = new boolean[capacity];
+        this.mutedUntil = new long[capacity];
+        this.lastReport = new long[capacity];
+        this.reported = new boolean[capacity];
+        for (int i = 0; i < violations.length; i++) {
+            violations[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record a message and check it
+     * @return the rule it broke, MUTED if the player is muted, or NONE
+     */
+    public Violation check(UUID player, String message) {
+        int slot = slotFor(player);
+        if (slot < 0) {
+            return Violation.NONE; // More players than slots - not tracked
+        }
+        long now = System.nanoTime();
+        if (muted[slot]) {
+            if (mutedUntil[slot] - now > 0) {
+                violations[Violation.MUTED.ordinal()].increment();
+                return Violation.MUTED;
+            }
+            muted[slot] = false;
+        }
+
+        // One pass: content hash (FNV-1a over lowercased letters/digits) and caps count
+        long hash = 0xcbf29ce484222325L;
+        int letters = 0;
+        int upper = 0;
+        boolean hashed = false;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (Character.isLetter(c)) {
+                letters++;
+                if (Character.isUpperCase(c)) {
+                    upper++;
+                    c = Character.toLowerCase(c);
+                }
+            } else if (!Character.isDigit(c)) {
+                continue;
+            }
+            hash = (hash ^ c) * 0x100000001b3L;
+            hashed = true;
+        }
+        if (!hashed || hash == EMPTY_HASH) {
+            hash = EMPTY_HASH; // Nothing but spaces/punctuation - not compared for repeats
+        }
+
+        int base = slot * history;
+        int head = heads[slot];
+        int count = counts[slot];
+        Violation violation = Violation.NONE;
+
+        if (count >= rateMessages) {
+            long older = times[base + Math.floorMod(head - rateMessages, history)];
+            if (now - older < rateWindowNanos) {
+                violation = Violation.RATE;
+            }
+        }
+        if (violation == Violation.NONE && hash != EMPTY_HASH) {
+            int repeats = 0;
+            int look = Math.min(count, repeatHistory);
+            for (int k = 1; k <= look; k++) {
+                int index = base + Math.floorMod(head - k, history);
+                if (hashes[index] == hash && now - times[index] < repeatWindowNanos) {
+                    repeats++;
+                }
+            }
+            if (repeats >= repeatLimit) {
+                violation = Violation.REPEAT;
+            }
+        }
+        if (violation == Violation.NONE && capsPercent > 0 && letters >= capsMinLetters && upper * 100 >= letters * capsPercent) {
+            violation = Violation.CAPS;
+        }
+
+        times[base + head] = now;
+        hashes[base + head] = hash;
+        heads[slot] = (head + 1) % history;
+        counts[slot] = Math.min(count + 1, history);
+
+        if (violation != Violation.NONE) {
+            violations[violation.ordinal()].increment();
+            if (actions.contains(Action.MUTE) && muteNanos > 0) {
+                muted[slot] = true;
+                mutedUntil[slot] = now + muteNanos;
+            }
+        }
+        return violation;
+    }
+
+    /**
+     * Whether a violation should be reported to Takaro now - at most once per player per
+     * cooldown, so a flood produces one report rather than one per line
+     */
+    public boolean shouldReport(UUID player) {
+        if (!actions.contains(Action.REPORT)) {
+            return false;
+        }
+        Integer slot = slots.get(player);
+        if (slot == null) {
+            return false;
+        }
+        long now = System.nanoTime();
+        if (reported[slot] && now - lastReport[slot] < REPORT_COOLDOWN_NANOS) {
+            return false;
+        }
+        reported[slot] = true;
+        lastReport[slot] = now;
+        return true;
+    }
+
+    public boolean cancels(Violation violation) {
+        return violation == Violation.MUTED || (violation != Violation.NONE && actions.contains(Action.CANCEL));
+    }
+
+    /**
+     * Seconds left on a player's mute, 0 if not muted
+     */
+    public long getMuteSecondsLeft(UUID player) {
+        Integer slot = slots.get(player);
+        if (slot == null || !muted[slot]) {
+            return 0;
+        }
+        long left = mutedUntil[slot] - System.nanoTime();
+        return left > 0 ? (left + 999_999_999L) / 1_000_000_000L : 0;
+    }
+
+    /**
+     * Free a player's slot (on disconnect). An active mute is kept, so relogging doesn't lift it.
+     */
+    public void release(UUID player) {
+        long now = System.nanoTime();
+        carriedMutes.values().removeIf(until -> until - now <= 0);
+        Integer slot = slots.remove(player);
+        if (slot == null) {
+            return;
+        }
+        if (muted[slot] && mutedUntil[slot] - now > 0) {
+            carriedMutes.put(player, mutedUntil[slot]);
+        }
+        heads[slot] = 0;
+        counts[slot] = 0;
+        muted[slot] = false;
+        reported[slot] = false;
+        freeSlots.offer(slot);
+    }
+
+    public long getViolationCount(Violation violation) {
+        return violations[violation.ordinal()].sum();
+    }
+
+    public int getTrackedPlayers() {
+        return slots.size();
+    }
+
+    private int slotFor(UUID player) {
+        Integer slot = slots.get(player);
+        if (slot != null) {
+            return slot;
+        }
+        Integer assigned = slots.computeIfAbsent(player, p -> {
+            Integer free = freeSlots.poll();
+            if (free == null) {
+                if (nextSlot.get() >= capacity) {
+                    return null; // Full - no mapping is recorded
+                }
+                int fresh = nextSlot.getAndIncrement();
+                if (fresh >= capacity) {
+                    return null;
+                }
+                free = fresh;
+            }
+            restoreMute(p, free);
+            return free;
+        });
+        return assigned != null ? assigned : -1;
+    }
+
+    private void restoreMute(UUID player, int slot) {
+        Long until = carriedMutes.remove(player);
+        if (until != null && until - System.nanoTime() > 0) {
+            muted[slot] = true;
+            mutedUntil[slot] = until;
+        }
+    }
+
+    private static Set<Action> parseActions(String value) {
+        Set<Action> parsed = EnumSet.noneOf(Action.class);
+        if (value == null) {
+            return parsed;
+        }
+        for (String part : value.split(",")) {
+            String name = part.trim().toUpperCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                continue;
+            }
+            try {
+                parsed.add(Action.valueOf(name));
+            } catch (IllegalArgumentException e) {
+                // Unknown action names are ignored
+            }
+        }
+        return parsed;
+    }
+}
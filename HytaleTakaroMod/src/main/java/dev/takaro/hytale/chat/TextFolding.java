@@ -0,0 +1,51 @@
+package dev.takaro.hytale.chat;
+
+import java.text.Normalizer;
+
+/**
+ * Per-character folding used by the chat filter, so "Bäd", "B4D" and "bad" look alike:
+ * lowercase, diacritics stripped, common leetspeak digits/symbols read as letters, and
+ * invisible characters (zero-width, combining marks, soft hyphen) dropped.
+ * Precomputed for the whole BMP, so folding is one array read per character.
+ */
+final class TextFolding {
+    /** Folded value of characters that should be ignored */
+    static final char IGNORED = 0;
+
+    private static final char[] FOLD = new char[Character.MAX_VALUE + 1];
+
+    static {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            FOLD[c] = computeFold((char) c);
+        }
+        String leet = "0o1i3e4a5s7t8b@a$s!i|l+t";
+        for (int i = 0; i < leet.length(); i += 2) {
+            FOLD[leet.charAt(i)] = leet.charAt(i + 1);
+        }
+    }
+
+    private TextFolding() {
+    }
+
+    static char fold(char c) {
+        return FOLD[c];
+    }
+
+    private static char computeFold(char c) {
+        if (Character.isSurrogate(c)) {
+            return c;
+        }
+        int type = Character.getType(c);
+        if (type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK
+            || type == Character.FORMAT) {
+            // Combining accents, zero-width space/joiners, soft hyphen, BOM
+            return IGNORED;
+        }
+        if (c < 0x80) {
+            return Character.toLowerCase(c);
+        }
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        char base = decomposed.isEmpty() ? c : decomposed.charAt(0);
+        return Character.toLowerCase(base);
+    }
+}
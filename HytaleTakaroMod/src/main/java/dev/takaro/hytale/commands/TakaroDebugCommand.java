@@ -4,13 +4,25 @@
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
 import dev.takaro.hytale.TakaroPlugin;
+import dev.takaro.hytale.chat.ChatFilter;
+import dev.takaro.hytale.chat.SpamDetector;
+import dev.takaro.hytale.events.ChatForwarder;
+import dev.takaro.hytale.events.EventRateLimiter;
+import dev.takaro.hytale.handlers.ActionRegistry;
+import dev.takaro.hytale.handlers.ActionSpec;
+import dev.takaro.hytale.handlers.ActionStats;
+import dev.takaro.hytale.handlers.RequestDedupCache;
+import dev.takaro.hytale.websocket.EventJournal;
+import dev.takaro.hytale.websocket.OutboundScheduler;
+import dev.takaro.hytale.websocket.RttHistogram;
+import dev.takaro.hytale.websocket.TakaroWebSocket;
 
 import javax.annotation.Nonnull;
 import java.lang.reflect.Method;
 
 /**
  * Debug command to help discover Hytale server API
- * Usage: /takarodebug [info|server|events|ws]
+ * Usage: /takarodebug [info|server|events|ws|actions]
  */
 public class TakaroDebugCommand extends CommandBase {
     private final TakaroPlugin plugin;
@@ -50,6 +62,9 @@ protected void executeSync(@Nonnull CommandContext context) {
             case "ws":
                 showWebSocketInfo(context);
                 break;
+            case "actions":
+                showActionStats(context);
+                break;
             case "methods":
                 showServerMethods(context);
                 break;
@@ -67,6 +82,7 @@ private void sendHelp(CommandContext context) {
         context.sendMessage(Message.raw("§e/takarodebug server §7- Show server info"));
         context.sendMessage(Message.raw("§e/takarodebug events §7- Show event registration status"));
         context.sendMessage(Message.raw("§e/takarodebug ws §7- Show WebSocket connection status"));
+        context.sendMessage(Message.raw("§e/takarodebug actions §7- Show per-action request stats"));
         context.sendMessage(Message.raw("§e/takarodebug methods §7- List server methods (console only)"));
         context.sendMessage(Message.raw("§e/takarodebug testlink §7- Test clickable links"));
     }
@@ -111,6 +127,37 @@ private void showEventInfo(CommandContext context) {
         context.sendMessage(Message.raw("§7Chat Listener: §eRegistration pending"));
         context.sendMessage(Message.raw("§7Player Listener: §eRegistration pending"));
         context.sendMessage(Message.raw("§eNote: Event registration will be implemented once API is tested"));
+
+        if (plugin.getChatListener() != null) {
+            ChatForwarder chat = plugin.getChatListener().getForwarder();
+            context.sendMessage(Message.raw("§7Pending Chat: §e" + chat.getPendingCount()
+                + " §7(dropped: §e" + chat.getDroppedCount() + "§7)"));
+        }
+
+        if (plugin.getChatFilter() != null) {
+            ChatFilter filter = plugin.getChatFilter();
+            context.sendMessage(Message.raw("§7Chat Filter: §e" + filter.getMode() + " §7words: §e" + filter.getWordCount()
+                + " §7masked: §e" + filter.getMaskedCount() + " §7blocked: §e" + filter.getBlockedCount()));
+        }
+
+        SpamDetector spam = plugin.getSpamDetector();
+        if (spam == null) {
+            context.sendMessage(Message.raw("§7Spam Detection: §eOff"));
+        } else {
+            context.sendMessage(Message.raw("§7Spam Detection: §etracking " + spam.getTrackedPlayers()
+                + " §7rate: §e" + spam.getViolationCount(SpamDetector.Violation.RATE)
+                + " §7repeat: §e" + spam.getViolationCount(SpamDetector.Violation.REPEAT)
+                + " §7caps: §e" + spam.getViolationCount(SpamDetector.Violation.CAPS)
+                + " §7while muted: §e" + spam.getViolationCount(SpamDetector.Violation.MUTED)));
+        }
+
+        EventRateLimiter limiter = plugin.getEventLimiter();
+        if (limiter == null) {
+            context.sendMessage(Message.raw("§7Rate Limits: §eOff"));
+        } else {
+            context.sendMessage(Message.raw("§7Rate Limited: §e" + limiter.getSuppressedCounts()
+                + " §7(by player: §e" + limiter.getSuppressedByPlayer() + "§7)"));
+        }
     }
 
     private void showWebSocketInfo(CommandContext context) {
@@ -124,8 +171,48 @@ private void showWebSocketInfo(CommandContext context) {
         boolean isConnected = plugin.getWebSocket().isOpen();
         boolean isIdentified = plugin.getWebSocket().isIdentified();
 
+        context.sendMessage(Message.raw("§7State: §e" + plugin.getWebSocket().getState()));
         context.sendMessage(Message.raw("§7Connected: " + (isConnected ? "§aYes" : "§cNo")));
         context.sendMessage(Message.raw("§7Identified: " + (isIdentified ? "§aYes" : "§cNo")));
+        context.sendMessage(Message.raw("§7Compression: " + (plugin.getWebSocket().isCompressed() ? "§apermessage-deflate" : "§eNone")));
+        context.sendMessage(Message.raw("§7Queued Events: §e" + plugin.getWebSocket().getQueuedEventCount()
+            + " §7(dropped: §e" + plugin.getWebSocket().getDroppedEventCount() + "§7)"));
+        EventJournal journal = plugin.getWebSocket().getJournal();
+        context.sendMessage(Message.raw("§7Event Journal: " + (journal == null ? "§eOff"
+            : "§a" + journal.size() + " §7events in §e" + journal.getSegmentCount() + " §7segments")));
+        RttHistogram rtt = plugin.getWebSocket().getRtt();
+        if (rtt.getCount() > 0) {
+            context.sendMessage(Message.raw(String.format("§7RTT: §e%.1fms §7(avg §e%.1fms§7, p50 §e<%dms§7, p95 §e<%dms§7, p99 §e<%dms§7, max §e%.1fms§7, %d pings)",
+                rtt.getLastMillis(), rtt.getAverageMillis(), rtt.getPercentileMillis(50), rtt.getPercentileMillis(95),
+                rtt.getPercentileMillis(99), rtt.getMaxMillis(), rtt.getCount())));
+        } else {
+            context.sendMessage(Message.raw("§7RTT: §eNo pongs yet"));
+        }
+        context.sendMessage(Message.raw("§7Last Inbound: §e" + plugin.getWebSocket().getMillisSinceLastInbound() + "ms ago"
+            + " §7(forced reconnects: §e" + plugin.getWebSocket().getForcedReconnectCount() + "§7)"));
+        OutboundScheduler outbound = plugin.getWebSocket().getOutbound();
+        StringBuilder lanes = new StringBuilder("§7Outbound Lanes:");
+        for (OutboundScheduler.Lane lane : OutboundScheduler.Lane.values()) {
+            lanes.append(" §7").append(lane).append(" §e").append(outbound.getPendingCount(lane));
+        }
+        context.sendMessage(Message.raw(lanes + " §7(logs dropped: §e" + outbound.getDroppedLogCount() + "§7)"));
+        if (plugin.getLogHandler() != null) {
+            context.sendMessage(Message.raw("§7Pending Logs: §e" + plugin.getLogHandler().getPendingCount()
+                + " §7(dropped: §e" + plugin.getLogHandler().getDroppedCount() + "§7)"));
+        }
+
+        // Dev and extra endpoints
+        context.sendMessage(Message.raw("§7Endpoints Ready: §e" + plugin.getConnections().getReadyCount()
+            + "§7/§e" + plugin.getConnections().getConnections().size()));
+        for (TakaroWebSocket other : plugin.getConnections().getConnections()) {
+            if (other.getEndpoint().isPrimary()) {
+                continue;
+            }
+            context.sendMessage(Message.raw("§7Endpoint §e" + other.getEndpoint().getName() + "§7: "
+                + (other.isIdentified() ? "§a" : "§e") + other.getState()
+                + " §7queued: §e" + other.getQueuedEventCount()
+                + " §7excluded: §e" + other.getEndpoint().getExcludedEvents()));
+        }
 
         if (!isConnected) {
             context.sendMessage(Message.raw("§eCheck config.properties for correct IDENTITY_TOKEN"));
@@ -136,6 +223,33 @@ private void showWebSocketInfo(CommandContext context) {
         }
     }
 
+    private void showActionStats(CommandContext context) {
+        context.sendMessage(Message.raw("§a=== Takaro Actions ==="));
+
+        if (plugin.getRequestHandler() == null) {
+            context.sendMessage(Message.raw("§cRequest handler: Not initialized"));
+            return;
+        }
+
+        ActionRegistry registry = plugin.getRequestHandler().getActionRegistry();
+        for (ActionSpec.ConcurrencyClass concurrency : ActionSpec.ConcurrencyClass.values()) {
+            context.sendMessage(Message.raw("§7" + concurrency + " slots free: §e" + registry.getAvailablePermits(concurrency)));
+        }
+        RequestDedupCache dedup = plugin.getRequestHandler().getDedupCache();
+        context.sendMessage(Message.raw("§7Duplicate requests: §e" + dedup.getInFlightDuplicates() + " §7in flight, §e"
+            + dedup.getMemoizedDuplicates() + " §7memoized §7(" + dedup.size() + " remembered)"));
+
+        for (ActionSpec<?> spec : registry.getSpecs()) {
+            ActionStats stats = spec.getStats();
+            if (stats.getCalls() == 0 && stats.getRejected() == 0) {
+                continue;
+            }
+            context.sendMessage(Message.raw(String.format("§e%s §7[%s] calls: §e%d §7errors: §e%d §7rejected: §e%d §7avg: §e%.1fms §7max: §e%.1fms",
+                spec.getName(), spec.getConcurrency(), stats.getCalls(), stats.getErrors(), stats.getRejected(),
+                stats.getAverageMillis(), stats.getMaxMillis())));
+        }
+    }
+
     private void showServerMethods(CommandContext context) {
         plugin.getLogger().at(java.util.logging.Level.INFO).log("=== Available Server Methods ===");
 
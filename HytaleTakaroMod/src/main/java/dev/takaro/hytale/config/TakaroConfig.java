@@ -1,9 +1,17 @@
 package dev.takaro.hytale.config;
 
 import java.io.*;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
+import java.util.Set;
 
 public class TakaroConfig {
+    public static final String PRIMARY_ENDPOINT = "prod";
+    public static final String DEV_ENDPOINT = "dev";
+
     private final Properties properties;
     private final File configFile;
 
@@ -79,6 +87,32 @@ private void createDefault() {
                 writer.write("# DEV_ENABLED=true\n");
                 writer.write("# DEV_IDENTITY_TOKEN=MyHytaleServerDev\n");
                 writer.write("# DEV_REGISTRATION_TOKEN=your-dev-registration-token\n");
+                writer.write("\n");
+                writer.write("# Optional: Chat spam detection (off by default):\n");
+                writer.write("# SPAM_RATE_MESSAGES/SPAM_RATE_WINDOW_MS: more messages than this within the window is flooding\n");
+                writer.write("# SPAM_REPEAT_LIMIT/SPAM_REPEAT_HISTORY/SPAM_REPEAT_WINDOW_SECONDS: same text already sent this often among the last messages\n");
+                writer.write("# SPAM_CAPS_PERCENT: percentage of uppercase letters (0 disables), for messages with at least SPAM_CAPS_MIN_LETTERS letters\n");
+                writer.write("# SPAM_ACTIONS: comma separated - report (log event to Takaro), cancel (don't show the message), mute (for SPAM_MUTE_SECONDS)\n");
+                writer.write("# SPAM_RATE_NOTICE/SPAM_REPEAT_NOTICE/SPAM_CAPS_NOTICE/SPAM_MUTED_MESSAGE: shown to the player when a message is cancelled\n");
+                writer.write("# SPAM_ENABLED=true\n");
+                writer.write("# SPAM_RATE_MESSAGES=5\n");
+                writer.write("# SPAM_RATE_WINDOW_MS=3000\n");
+                writer.write("# SPAM_REPEAT_LIMIT=2\n");
+                writer.write("# SPAM_REPEAT_HISTORY=4\n");
+                writer.write("# SPAM_REPEAT_WINDOW_SECONDS=30\n");
+                writer.write("# SPAM_CAPS_PERCENT=70\n");
+                writer.write("# SPAM_CAPS_MIN_LETTERS=8\n");
+                writer.write("# SPAM_ACTIONS=report\n");
+                writer.write("# SPAM_MUTE_SECONDS=30\n");
+                writer.write("\n");
+                writer.write("# Optional: Event rate limits toward Takaro (off by default, sized to catch floods only):\n");
+                writer.write("# RATE_LIMIT_EVENTS: type=rate/burst per event type, in events per second, comma separated\n");
+                writer.write("# RATE_LIMIT_PLAYER: rate/burst for each player, applied to the types in RATE_LIMIT_PLAYER_EVENTS\n");
+                writer.write("# Chat lines starting with COMMAND_PREFIX are never limited\n");
+                writer.write("# RATE_LIMIT_ENABLED=true\n");
+                writer.write("# RATE_LIMIT_EVENTS=log=200/1000,chat-message=50/200\n");
+                writer.write("# RATE_LIMIT_PLAYER=5/20\n");
+                writer.write("# RATE_LIMIT_PLAYER_EVENTS=chat-message\n");
             }
         } catch (IOException e) {
             e.printStackTrace();
@@ -124,6 +158,43 @@ public String getDevRegistrationToken() {
         return properties.getProperty("DEV_REGISTRATION_TOKEN", "");
     }
 
+    // Dev Takaro doesn't support log or chat events by default
+    public String getDevEventExclude() {
+        return properties.getProperty("DEV_EVENT_EXCLUDE", "log,chat-message");
+    }
+
+    /**
+     * Every Takaro instance to connect to: production, dev (if enabled), then any extra
+     * endpoints listed in ENDPOINTS (hidden from default config - advanced), each configured as
+     * ENDPOINT_<NAME>_URL, _IDENTITY_TOKEN, _REGISTRATION_TOKEN and _EVENT_EXCLUDE
+     */
+    public List<TakaroEndpoint> getEndpoints() {
+        List<TakaroEndpoint> endpoints = new ArrayList<>();
+        endpoints.add(new TakaroEndpoint(PRIMARY_ENDPOINT, getWsUrl(), getIdentityToken(), getRegistrationToken(),
+            parseList(properties.getProperty("EVENT_EXCLUDE", ""))));
+
+        if (isDevEnabled()) {
+            endpoints.add(new TakaroEndpoint(DEV_ENDPOINT, getDevWsUrl(), getDevIdentityToken(), getDevRegistrationToken(),
+                parseList(getDevEventExclude())));
+        }
+
+        for (String name : parseList(properties.getProperty("ENDPOINTS", ""))) {
+            if (name.equals(PRIMARY_ENDPOINT) || name.equals(DEV_ENDPOINT)) {
+                continue;
+            }
+            String prefix = "ENDPOINT_" + name.toUpperCase(Locale.ROOT).replace('-', '_') + "_";
+            String url = properties.getProperty(prefix + "URL", "").trim();
+            if (url.isEmpty()) {
+                continue;
+            }
+            endpoints.add(new TakaroEndpoint(name, url,
+                properties.getProperty(prefix + "IDENTITY_TOKEN", getIdentityToken()),
+                properties.getProperty(prefix + "REGISTRATION_TOKEN", ""),
+                parseList(properties.getProperty(prefix + "EVENT_EXCLUDE", ""))));
+        }
+        return endpoints;
+    }
+
     public String getCommandPrefix() {
         return properties.getProperty("COMMAND_PREFIX", "!");
     }
@@ -164,4 +235,259 @@ public String getHytaleChartsPromoMessage() {
     public String getHytaleChartsPromoUrl() {
         return properties.getProperty("HYTALECHARTS_PROMO_URL", "https://hytalecharts.com");
     }
+
+    // Outbound event queue (hidden from default config - advanced tuning)
+    // Events raised while a connection is down are held here and replayed after identify
+    public int getOutboxCapacity() {
+        return getIntProperty("OUTBOX_CAPACITY", 1000);
+    }
+
+    public dev.takaro.hytale.websocket.EventOutbox.DropPolicy getOutboxDropPolicy() {
+        String value = properties.getProperty("OUTBOX_DROP_POLICY", "DROP_OLDEST").trim().toUpperCase();
+        try {
+            return dev.takaro.hytale.websocket.EventOutbox.DropPolicy.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            return dev.takaro.hytale.websocket.EventOutbox.DropPolicy.DROP_OLDEST;
+        }
+    }
+
+    // Request execution (hidden from default config - advanced tuning)
+    // Max Takaro requests handled at once, and how many may wait before new ones are rejected
+    public int getRequestConcurrency() {
+        return getIntProperty("REQUEST_CONCURRENCY", 8);
+    }
+
+    public int getRequestQueueLimit() {
+        return getIntProperty("REQUEST_QUEUE_LIMIT", 256);
+    }
+
+    // Responses are remembered per requestId so a request Takaro retries isn't executed twice
+    public int getRequestDedupCapacity() {
+        return getIntProperty("REQUEST_DEDUP_CAPACITY", 4096);
+    }
+
+    public int getRequestDedupTtlSeconds() {
+        return getIntProperty("REQUEST_DEDUP_TTL_SECONDS", 300);
+    }
+
+    // In-flight limits per action concurrency class (READ, WORLD, ADMIN)
+    public int getReadActionConcurrency() {
+        return getIntProperty("ACTION_CONCURRENCY_READ", 64);
+    }
+
+    public int getWorldActionConcurrency() {
+        return getIntProperty("ACTION_CONCURRENCY_WORLD", 256);
+    }
+
+    public int getAdminActionConcurrency() {
+        return getIntProperty("ACTION_CONCURRENCY_ADMIN", 4);
+    }
+
+    // Log forwarding (hidden from default config - advanced tuning)
+    // Records beyond this many waiting to be forwarded are dropped rather than blocking the logger
+    public int getLogBufferCapacity() {
+        return getIntProperty("LOG_BUFFER_CAPACITY", 8192);
+    }
+
+    // Pack many log lines into one gameEvent frame instead of one frame per line
+    public boolean isLogBatchEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("LOG_BATCH_ENABLED", "true"));
+    }
+
+    public int getLogBatchMaxBytes() {
+        return getIntProperty("LOG_BATCH_MAX_BYTES", 65536);
+    }
+
+    public int getLogMaxLinesPerFlush() {
+        return getIntProperty("LOG_MAX_LINES_PER_FLUSH", 10000);
+    }
+
+    // Flush immediately once this many lines are waiting (0 disables early flush)
+    public int getLogFlushHighWaterMark() {
+        return getIntProperty("LOG_FLUSH_HIGH_WATER_MARK", 1024);
+    }
+
+    // Chat filter (hidden from default config - advanced tuning)
+    // Word list Takaro can replace at runtime via setChatFilter; MASK, CANCEL or OFF
+    public String getChatFilterWords() {
+        return properties.getProperty("CHAT_FILTER_WORDS", "");
+    }
+
+    public String getChatFilterMode() {
+        return properties.getProperty("CHAT_FILTER_MODE", "MASK");
+    }
+
+    // Only match whole words, so listed words inside longer ones don't trigger
+    public boolean isChatFilterWholeWords() {
+        return Boolean.parseBoolean(properties.getProperty("CHAT_FILTER_WHOLE_WORDS", "true"));
+    }
+
+    public String getChatFilterBlockedMessage() {
+        return properties.getProperty("CHAT_FILTER_BLOCKED_MESSAGE", "[ff5555]Your message was blocked by the chat filter.[-]");
+    }
+
+    // Chat forwarding (hidden from default config - advanced tuning)
+    // Chat lines waiting for the forwarder thread beyond this many are dropped
+    public int getChatQueueCapacity() {
+        return getIntProperty("CHAT_QUEUE_CAPACITY", 4096);
+    }
+
+    // Spam detection (off by default, keys listed in the default config)
+    public boolean isSpamEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("SPAM_ENABLED", "false"));
+    }
+
+    // Players tracked at once; beyond this, new players are not checked
+    public int getSpamMaxPlayers() {
+        return getIntProperty("SPAM_MAX_PLAYERS", 1024);
+    }
+
+    // More than SPAM_RATE_MESSAGES messages within SPAM_RATE_WINDOW_MS is flooding
+    public int getSpamRateMessages() {
+        return getIntProperty("SPAM_RATE_MESSAGES", 5);
+    }
+
+    public int getSpamRateWindowMs() {
+        return getIntProperty("SPAM_RATE_WINDOW_MS", 3000);
+    }
+
+    // Sending the same text when SPAM_REPEAT_LIMIT of the last SPAM_REPEAT_HISTORY messages
+    // (within SPAM_REPEAT_WINDOW_SECONDS) already were is repeating
+    public int getSpamRepeatHistory() {
+        return getIntProperty("SPAM_REPEAT_HISTORY", 4);
+    }
+
+    public int getSpamRepeatLimit() {
+        return getIntProperty("SPAM_REPEAT_LIMIT", 2);
+    }
+
+    public int getSpamRepeatWindowSeconds() {
+        return getIntProperty("SPAM_REPEAT_WINDOW_SECONDS", 30);
+    }
+
+    // Percentage of uppercase letters (0 disables), for messages with at least SPAM_CAPS_MIN_LETTERS letters
+    public int getSpamCapsPercent() {
+        return getIntProperty("SPAM_CAPS_PERCENT", 70);
+    }
+
+    public int getSpamCapsMinLetters() {
+        return getIntProperty("SPAM_CAPS_MIN_LETTERS", 8);
+    }
+
+    // Comma separated: cancel (don't show the message), mute (for SPAM_MUTE_SECONDS), report (log event to Takaro)
+    public String getSpamActions() {
+        return properties.getProperty("SPAM_ACTIONS", "report");
+    }
+
+    public int getSpamMuteSeconds() {
+        return getIntProperty("SPAM_MUTE_SECONDS", 30);
+    }
+
+    // Shown to the player when a message is cancelled, one per rule
+    public String getSpamRateNotice() {
+        return properties.getProperty("SPAM_RATE_NOTICE", "[ff5555]Slow down - your message was not sent.[-]");
+    }
+
+    public String getSpamRepeatNotice() {
+        return properties.getProperty("SPAM_REPEAT_NOTICE", "[ff5555]Please don't repeat yourself - your message was not sent.[-]");
+    }
+
+    public String getSpamCapsNotice() {
+        return properties.getProperty("SPAM_CAPS_NOTICE", "[ff5555]Please don't shout - your message was not sent.[-]");
+    }
+
+    public String getSpamMutedMessage() {
+        return properties.getProperty("SPAM_MUTED_MESSAGE", "[ff5555]You are muted for spamming.[-]");
+    }
+
+    // Event rate limits (off by default, keys listed in the default config)
+    // "type=rate/burst" per event type (events per second), applied before serialization
+    public boolean isRateLimitEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("RATE_LIMIT_ENABLED", "false"));
+    }
+
+    public String getRateLimitEvents() {
+        return properties.getProperty("RATE_LIMIT_EVENTS", "log=200/1000,chat-message=50/200");
+    }
+
+    // "rate/burst" for each player, applied to the event types in RATE_LIMIT_PLAYER_EVENTS
+    public String getRateLimitPlayer() {
+        return properties.getProperty("RATE_LIMIT_PLAYER", "5/20");
+    }
+
+    public Set<String> getRateLimitPlayerEvents() {
+        return parseList(properties.getProperty("RATE_LIMIT_PLAYER_EVENTS", "chat-message"));
+    }
+
+    // Outbound priority lanes (hidden from default config - advanced tuning)
+    // Log frames waiting behind responses and player events beyond this many are dropped
+    public int getOutboundLogCapacity() {
+        return getIntProperty("OUTBOUND_LOG_CAPACITY", 2048);
+    }
+
+    // Connection liveness (hidden from default config - advanced tuning)
+    // Ping every interval; reconnect if nothing at all is received within the timeout
+    public int getLivenessPingIntervalSeconds() {
+        return getIntProperty("LIVENESS_PING_INTERVAL_SECONDS", 15);
+    }
+
+    public int getLivenessTimeoutSeconds() {
+        return getIntProperty("LIVENESS_TIMEOUT_SECONDS", 45);
+    }
+
+    // WebSocket compression (hidden from default config - advanced tuning)
+    // Offer permessage-deflate to Takaro; frames smaller than the threshold (bytes) are sent raw
+    public boolean isWsCompressionEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("WS_COMPRESSION_ENABLED", "true"));
+    }
+
+    public int getWsCompressionThreshold() {
+        return getIntProperty("WS_COMPRESSION_THRESHOLD", 1024);
+    }
+
+    // Durable event journal (hidden from default config - advanced tuning)
+    // Queue undelivered game events in memory-mapped segment files instead of the in-memory outbox
+    public boolean isJournalEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("JOURNAL_ENABLED", "false"));
+    }
+
+    public int getJournalSegmentBytes() {
+        return getIntProperty("JOURNAL_SEGMENT_BYTES", 4 * 1024 * 1024);
+    }
+
+    // Oldest segments are discarded once the journal of one endpoint would exceed this
+    public long getJournalMaxBytes() {
+        return getIntProperty("JOURNAL_MAX_MB", 256) * 1024L * 1024L;
+    }
+
+    /**
+     * Plugin data folder (the one holding TakaroConfig.properties)
+     */
+    public File getDataDirectory() {
+        return configFile.getAbsoluteFile().getParentFile();
+    }
+
+    private int getIntProperty(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(properties.getProperty(key, String.valueOf(defaultValue)).trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Parse a comma separated, case-insensitive list (e.g. "log,chat-message")
+     */
+    private static Set<String> parseList(String value) {
+        Set<String> items = new LinkedHashSet<>();
+        if (value != null) {
+            for (String part : value.split(",")) {
+                String item = part.trim().toLowerCase(Locale.ROOT);
+                if (!item.isEmpty()) {
+                    items.add(item);
+                }
+            }
+        }
+        return items;
+    }
 }
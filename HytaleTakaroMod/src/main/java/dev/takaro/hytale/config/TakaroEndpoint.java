@@ -0,0 +1,58 @@
+package dev.takaro.hytale.config;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * One Takaro instance the plugin connects to, with the game event types it should receive
+ */
+public final class TakaroEndpoint {
+    private final String name;
+    private final String url;
+    private final String identityToken;
+    private final String registrationToken;
+    private final Set<String> excludedEvents;
+
+    public TakaroEndpoint(String name, String url, String identityToken, String registrationToken, Set<String> excludedEvents) {
+        this.name = name;
+        this.url = url;
+        this.identityToken = identityToken;
+        this.registrationToken = registrationToken;
+        this.excludedEvents = Collections.unmodifiableSet(new LinkedHashSet<>(excludedEvents));
+    }
+
+    /**
+     * Short name used in logs and config keys ("prod", "dev", ...)
+     */
+    public String getName() {
+        return name;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getIdentityToken() {
+        return identityToken;
+    }
+
+    public String getRegistrationToken() {
+        return registrationToken;
+    }
+
+    public Set<String> getExcludedEvents() {
+        return excludedEvents;
+    }
+
+    /**
+     * Whether game events of this type are forwarded to the endpoint
+     */
+    public boolean accepts(String eventType) {
+        return !excludedEvents.contains(eventType);
+    }
+
+    public boolean isPrimary() {
+        return TakaroConfig.PRIMARY_ENDPOINT.equals(name);
+    }
+}
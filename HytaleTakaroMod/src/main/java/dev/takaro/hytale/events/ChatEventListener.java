@@ -3,22 +3,39 @@
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.event.events.player.PlayerChatEvent;
 import dev.takaro.hytale.TakaroPlugin;
+import dev.takaro.hytale.chat.ChatFilter;
+import dev.takaro.hytale.chat.SpamDetector;
+import dev.takaro.hytale.config.TakaroConfig;
 import dev.takaro.hytale.handlers.ChatFormatter;
+import dev.takaro.hytale.players.PlayerStyle;
 
-import java.awt.Color;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.UUID;
 
 /**
  * Listens for chat events from Hytale and forwards them to Takaro
  * Applies player name colors based on Takaro permissions
  * Uses official Hytale event pattern
+ * Only the cancel/format decision runs on the event thread; forwarding is done by {@link ChatForwarder}
  */
 public class ChatEventListener {
     private final TakaroPlugin plugin;
+    private final ChatForwarder forwarder;
 
     public ChatEventListener(TakaroPlugin plugin) {
         this.plugin = plugin;
+        this.forwarder = new ChatForwarder(plugin, plugin.getConfig().getChatQueueCapacity());
+    }
+
+    public void start() {
+        forwarder.start();
+    }
+
+    public void stop() {
+        forwarder.stop();
+    }
+
+    public ChatForwarder getForwarder() {
+        return forwarder;
     }
 
     /**
@@ -29,10 +46,13 @@ public void onPlayerChat(PlayerChatEvent event) {
         try {
             // Extract player data
             String playerName = event.getSender().getUsername();
-            String uuid = event.getSender().getUuid().toString();
+            UUID playerUuid = event.getSender().getUuid();
             String message = event.getContent();
 
-            plugin.getLogger().at(java.util.logging.Level.INFO).log("[CHAT] " + playerName + ": " + message);
+            // Flood checks run first, so a spammer's lines (commands included) stop here
+            if (checkSpam(event, playerName, playerUuid, message)) {
+                return;
+            }
 
             // Check if message starts with configured command prefix
             String commandPrefix = plugin.getConfig().getCommandPrefix();
@@ -52,46 +72,93 @@ public void onPlayerChat(PlayerChatEvent event) {
                 Message responseMessage = ChatFormatter.parseColoredMessage(formattedResponse);
                 event.getSender().sendMessage(responseMessage);
             } else {
-                // Not a command - apply name color formatting for regular chat
-                // Get player's name color from cache (set by Takaro via setPlayerNameColor action)
-                String nameColorCode = plugin.getPlayerNameColor(uuid);
-                Color nameColor = ChatFormatter.parseColor(nameColorCode);
-
-                if (nameColor != null) {
-                    // Apply custom name color
-                    Message formattedMessage = ChatFormatter.parseColoredMessage(message);
-                    event.setFormatter((playerRef, msg) ->
-                        Message.join(
-                            Message.raw(playerName).color(nameColor),
-                            Message.raw(": "),
-                            formattedMessage
-                        )
-                    );
+                // Word filter runs inline, before anyone sees the message
+                ChatFilter.Result filtered = plugin.getChatFilter().check(message);
+                if (filtered.verdict() == ChatFilter.Verdict.BLOCKED) {
+                    event.setCancelled(true);
+                    event.getSender().sendMessage(ChatFormatter.parseColoredMessage(plugin.getConfig().getChatFilterBlockedMessage()));
                 } else {
-                    // No custom color - use default formatting
-                    ChatFormatter.onPlayerChat(event);
+                    applyFormatting(event, playerName, playerUuid, filtered.text());
                 }
             }
 
-            // Send ALL messages to Takaro (commands AND regular chat)
-            Map<String, Object> chatData = new HashMap<>();
-            chatData.put("msg", message);
-            chatData.put("channel", "global");
-
-            Map<String, String> player = new HashMap<>();
-            player.put("name", playerName);
-            player.put("gameId", uuid);
-            player.put("platformId", "hytale:" + uuid);
-
-            chatData.put("player", player);
-
-            // Send to all Takaro connections (production and dev if enabled)
-            plugin.sendGameEventToAll("chat-message", chatData);
-            plugin.getLogger().at(java.util.logging.Level.FINE).log("Forwarded to Takaro: " + message);
+            // Takaro gets what was actually typed, filtered or not, for moderation
+            // Logged and sent to all Takaro connections from the forwarder thread
+            if (!forwarder.submit(new ChatForwarder.ChatLine(playerName, playerUuid, message))) {
+                plugin.getLogger().at(java.util.logging.Level.FINE).log("Chat forward queue full, dropped message from " + playerName);
+            }
 
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error handling chat event: " + e.getMessage());
             e.printStackTrace();
         }
     }
+
+    /**
+     * Run the spam detector and apply the configured actions
+     * @return true if the message was cancelled and should go no further
+     */
+    private boolean checkSpam(PlayerChatEvent event, String playerName, UUID playerUuid, String message) {
+        SpamDetector spam = plugin.getSpamDetector();
+        if (spam == null) {
+            return false;
+        }
+        SpamDetector.Violation violation = spam.check(playerUuid, message);
+        if (violation == SpamDetector.Violation.NONE) {
+            return false;
+        }
+
+        if (spam.shouldReport(playerUuid)) {
+            plugin.sendGameEventToAll(new GameEvent.Log("[Takaro] Spam detected: " + playerName + " (" + playerUuid + ") - " + violation));
+        }
+        if (!spam.cancels(violation)) {
+            return false;
+        }
+
+        event.setCancelled(true);
+        event.getSender().sendMessage(ChatFormatter.parseColoredMessage(spamNotice(violation, spam.getMuteSecondsLeft(playerUuid) > 0)));
+        return true;
+    }
+
+    private String spamNotice(SpamDetector.Violation violation, boolean muted) {
+        TakaroConfig config = plugin.getConfig();
+        if (muted) {
+            return config.getSpamMutedMessage();
+        }
+        switch (violation) {
+            case REPEAT:
+                return config.getSpamRepeatNotice();
+            case CAPS:
+                return config.getSpamCapsNotice();
+            case MUTED:
+                return config.getSpamMutedMessage();
+            default:
+                return config.getSpamRateNotice();
+        }
+    }
+
+    /**
+     * Not a command - apply name color formatting for regular chat, showing {@code shown}
+     * (the message, or its masked form)
+     */
+    private void applyFormatting(PlayerChatEvent event, String playerName, UUID playerUuid, String shown) {
+        // Get player's name color (set by Takaro via setPlayerNameColor action), parsed when it was set
+        PlayerStyle style = plugin.getPlayerStyles().get(playerUuid);
+
+        if (style != null) {
+            // Apply custom name color
+            Message coloredName = style.nameMessage(playerName);
+            Message formattedMessage = ChatFormatter.parseColoredMessage(shown);
+            event.setFormatter((playerRef, msg) ->
+                Message.join(
+                    coloredName,
+                    Message.raw(": "),
+                    formattedMessage
+                )
+            );
+        } else {
+            // No custom color - use default formatting
+            ChatFormatter.onPlayerChat(event, shown);
+        }
+    }
 }
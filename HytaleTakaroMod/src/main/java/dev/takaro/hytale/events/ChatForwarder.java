@@ -0,0 +1,109 @@
+package dev.takaro.hytale.events;
+
+import dev.takaro.hytale.TakaroPlugin;
+import dev.takaro.hytale.util.MpscRingBuffer;
+
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Forwards chat lines to Takaro from its own thread. The chat listener only captures an
+ * immutable record and hands it over through a lock-free ring, so console logging, rate
+ * limiting, JSON encoding and queueing on the connections never add to chat latency.
+ * If the ring is full (Takaro side badly backed up) lines are dropped and counted.
+ */
+public class ChatForwarder {
+    private static final long IDLE_PARK_NANOS = 100_000_000L; // 100ms - submits unpark the forwarder anyway
+
+    /**
+     * A chat line as captured on the event thread
+     */
+    public record ChatLine(String playerName, UUID playerUuid, String message) {
+    }
+
+    private final TakaroPlugin plugin;
+    private final MpscRingBuffer<ChatLine> queue;
+    private final Thread thread;
+    private volatile boolean running = true;
+    // Set while the forwarder is (about to be) parked, so producers only unpark when needed
+    private volatile boolean parked = false;
+
+    public ChatForwarder(TakaroPlugin plugin, int capacity) {
+        this.plugin = plugin;
+        this.queue = new MpscRingBuffer<>(Math.max(16, capacity));
+        this.thread = new Thread(this::run, "Takaro-ChatForwarder");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Stop after forwarding whatever is already queued
+     */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queue a chat line. Never blocks; safe from any thread.
+     * @return false if the queue was full and the line was dropped
+     */
+    public boolean submit(ChatLine line) {
+        if (!queue.offer(line)) {
+            return false;
+        }
+        if (parked) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public long getDroppedCount() {
+        return queue.getDroppedCount();
+    }
+
+    private void run() {
+        while (true) {
+            ChatLine line = queue.poll();
+            if (line != null) {
+                forward(line);
+                continue;
+            }
+            if (!running) {
+                return;
+            }
+            parked = true;
+            // Re-check after publishing the flag - a producer that missed it has already queued
+            if (queue.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            parked = false;
+        }
+    }
+
+    private void forward(ChatLine line) {
+        try {
+            plugin.getLogger().at(java.util.logging.Level.INFO).log("[CHAT] " + line.playerName() + ": " + line.message());
+
+            // Send ALL messages to Takaro (commands AND regular chat)
+            GameEvent.Player player = new GameEvent.Player(line.playerName(), line.playerUuid().toString());
+            plugin.sendGameEventToAll(new GameEvent.ChatMessage(player, line.message(), "global"));
+            plugin.getLogger().at(java.util.logging.Level.FINE).log("Forwarded to Takaro: " + line.message());
+        } catch (Exception e) {
+            plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error forwarding chat message: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
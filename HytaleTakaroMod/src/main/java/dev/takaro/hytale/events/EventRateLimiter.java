@@ -0,0 +1,142 @@
+package dev.takaro.hytale.events;
+
+import dev.takaro.hytale.util.TokenBucket;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets applied to game events before they are serialized, so a spamming player or
+ * a crash loop flooding the console can't saturate the Takaro uplink. Each limited event
+ * type has one shared bucket; types listed for per-player limiting also get a bucket per
+ * player. Suppressed events are counted per type and cost one CAS, never any JSON work.
+ * Chat lines starting with the command prefix are never limited - the player has already
+ * been told their command was received.
+ */
+public final class EventRateLimiter {
+    private final Map<String, TokenBucket> typeBuckets;
+    private final Set<String> perPlayerTypes;
+    private final String commandPrefix;
+    private final double playerRate;
+    private final int playerBurst;
+    private final Map<String, TokenBucket> playerBuckets = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> suppressed = new ConcurrentHashMap<>();
+    private final LongAdder suppressedByPlayer = new LongAdder();
+
+    /**
+     * @param typeLimits "type=rate/burst" pairs, comma separated (e.g. "log=100/200,chat-message=20/40")
+     * @param playerLimit "rate/burst" for each player, or empty for none
+     * @param perPlayerTypes event types the per-player limit applies to
+     * @param commandPrefix chat lines starting with this are exempt, or empty for none
+     */
+    public EventRateLimiter(String typeLimits, String playerLimit, Set<String> perPlayerTypes, String commandPrefix) {
+        Map<String, TokenBucket> buckets = new HashMap<>();
+        if (typeLimits != null) {
+            for (String part : typeLimits.split(",")) {
+                int eq = part.indexOf('=');
+                if (eq <= 0) {
+                    continue;
+                }
+                TokenBucket bucket = parseBucket(part.substring(eq + 1));
+                if (bucket != null) {
+                    buckets.put(part.substring(0, eq).trim().toLowerCase(Locale.ROOT), bucket);
+                }
+            }
+        }
+        this.typeBuckets = Collections.unmodifiableMap(buckets);
+
+        double[] player = parseLimit(playerLimit);
+        this.playerRate = player != null ? player[0] : 0;
+        this.playerBurst = player != null ? (int) player[1] : 0;
+        this.perPlayerTypes = player != null ? Set.copyOf(perPlayerTypes) : Set.of();
+        this.commandPrefix = commandPrefix != null ? commandPrefix : "";
+    }
+
+    /**
+     * @return false if the event should be suppressed
+     */
+    public boolean tryAcquire(GameEvent event) {
+        String type = event.type();
+        String playerId = event.playerId();
+        if (event instanceof GameEvent.PlayerDisconnected && playerId != null) {
+            // The player's bucket isn't needed any more
+            playerBuckets.remove(playerId);
+        }
+        if (!commandPrefix.isEmpty() && event instanceof GameEvent.ChatMessage chat
+            && chat.msg() != null && chat.msg().startsWith(commandPrefix)) {
+            return true;
+        }
+
+        // Shared bucket first, so a type-wide flood doesn't also spend the player's own tokens;
+        // a permit taken from it is handed back if the player's bucket then refuses
+        TokenBucket typeBucket = typeBuckets.get(type);
+        if (typeBucket != null && !typeBucket.tryAcquire()) {
+            recordSuppressed(type);
+            return false;
+        }
+
+        if (playerId != null && perPlayerTypes.contains(type)) {
+            TokenBucket bucket = playerBuckets.computeIfAbsent(playerId, id -> new TokenBucket(playerRate, playerBurst));
+            if (!bucket.tryAcquire()) {
+                if (typeBucket != null) {
+                    typeBucket.release();
+                }
+                suppressedByPlayer.increment();
+                recordSuppressed(type);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void recordSuppressed(String type) {
+        suppressed.computeIfAbsent(type, t -> new LongAdder()).increment();
+    }
+
+    /**
+     * Suppressed event counts by type
+     */
+    public Map<String, Long> getSuppressedCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        suppressed.forEach((type, count) -> counts.put(type, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Events suppressed by a per-player bucket (also included in the per-type counts)
+     */
+    public long getSuppressedByPlayer() {
+        return suppressedByPlayer.sum();
+    }
+
+    private static TokenBucket parseBucket(String value) {
+        double[] limit = parseLimit(value);
+        return limit == null ? null : new TokenBucket(limit[0], (int) limit[1]);
+    }
+
+    /**
+     * Parse "rate/burst" (or just "rate", burst = rate)
+     * @return {rate, burst}, or null if empty or invalid
+     */
+    private static double[] parseLimit(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = value.trim().split("/");
+            double rate = Double.parseDouble(parts[0].trim());
+            double burst = parts.length > 1 ? Double.parseDouble(parts[1].trim()) : Math.ceil(rate);
+            if (rate <= 0 || burst < 1) {
+                return null;
+            }
+            return new double[] { rate, burst };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
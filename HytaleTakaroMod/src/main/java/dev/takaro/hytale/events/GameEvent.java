@@ -0,0 +1,177 @@
+package dev.takaro.hytale.events;
+
+import dev.takaro.hytale.players.PlayerInfo;
+import dev.takaro.hytale.util.JsonText;
+
+/**
+ * Typed game event forwarded to Takaro. Each event writes its own {@code data}
+ * object, so a frame is built in one pre-sized buffer instead of nested maps
+ * and reflective serialization.
+ */
+public interface GameEvent {
+
+    /**
+     * Takaro event type (e.g. "chat-message")
+     */
+    String type();
+
+    /**
+     * Append the event's data object as JSON
+     */
+    void writeData(StringBuilder out);
+
+    /**
+     * Rough data size, used to pre-size the frame buffer
+     */
+    default int sizeHint() {
+        return 128;
+    }
+
+    /**
+     * gameId of the player the event is about, or null for server events
+     */
+    default String playerId() {
+        return null;
+    }
+
+    /**
+     * Player reference without connection details (IGamePlayer name/gameId/platformId)
+     */
+    record Player(String name, String gameId) {
+        void write(StringBuilder out) {
+            JsonText.appendName(out.append('{'), "name");
+            JsonText.appendString(out, name);
+            JsonText.appendName(out.append(','), "gameId");
+            JsonText.appendString(out, gameId);
+            JsonText.appendName(out.append(','), "platformId");
+            JsonText.appendString(out, "hytale:" + gameId);
+            out.append('}');
+        }
+    }
+
+    /**
+     * player-connected, carrying the descriptor (including IP) captured at connect
+     */
+    record PlayerConnected(PlayerInfo player) implements GameEvent {
+        @Override
+        public String type() {
+            return "player-connected";
+        }
+
+        @Override
+        public String playerId() {
+            return player.getGameId();
+        }
+
+        @Override
+        public void writeData(StringBuilder out) {
+            JsonText.appendName(out.append('{'), "player");
+            out.append(player.toJson()).append('}');
+        }
+    }
+
+    record PlayerDisconnected(Player player) implements GameEvent {
+        @Override
+        public String type() {
+            return "player-disconnected";
+        }
+
+        @Override
+        public String playerId() {
+            return player.gameId();
+        }
+
+        @Override
+        public void writeData(StringBuilder out) {
+            JsonText.appendName(out.append('{'), "player");
+            player.write(out);
+            out.append('}');
+        }
+    }
+
+    record ChatMessage(Player player, String msg, String channel) implements GameEvent {
+        @Override
+        public String type() {
+            return "chat-message";
+        }
+
+        @Override
+        public String playerId() {
+            return player.gameId();
+        }
+
+        @Override
+        public void writeData(StringBuilder out) {
+            JsonText.appendName(out.append('{'), "msg");
+            JsonText.appendString(out, msg);
+            JsonText.appendName(out.append(','), "channel");
+            JsonText.appendString(out, channel);
+            JsonText.appendName(out.append(','), "player");
+            player.write(out);
+            out.append('}');
+        }
+
+        @Override
+        public int sizeHint() {
+            return 160 + msg.length();
+        }
+    }
+
+    /**
+     * player-death; {@code hasPosition} is false when the transform wasn't available
+     */
+    record PlayerDeath(Player player, String msg, boolean hasPosition, double x, double y, double z) implements GameEvent {
+        @Override
+        public String type() {
+            return "player-death";
+        }
+
+        @Override
+        public String playerId() {
+            return player.gameId();
+        }
+
+        @Override
+        public void writeData(StringBuilder out) {
+            JsonText.appendName(out.append('{'), "type");
+            JsonText.appendString(out, type());
+            JsonText.appendName(out.append(','), "player");
+            player.write(out);
+            if (hasPosition) {
+                JsonText.appendName(out.append(','), "position");
+                JsonText.appendName(out.append('{'), "x");
+                JsonText.appendNumber(out, x);
+                JsonText.appendName(out.append(','), "y");
+                JsonText.appendNumber(out, y);
+                JsonText.appendName(out.append(','), "z");
+                JsonText.appendNumber(out, z);
+                out.append('}');
+            }
+            JsonText.appendName(out.append(','), "msg");
+            JsonText.appendString(out, msg);
+            out.append('}');
+        }
+    }
+
+    /**
+     * Console output, one line or a newline-joined batch
+     */
+    record Log(String msg) implements GameEvent {
+        @Override
+        public String type() {
+            return "log";
+        }
+
+        @Override
+        public void writeData(StringBuilder out) {
+            JsonText.appendName(out.append('{'), "msg");
+            JsonText.appendString(out, msg);
+            out.append('}');
+        }
+
+        @Override
+        public int sizeHint() {
+            return 16 + msg.length() + (msg.length() >> 3);
+        }
+    }
+}
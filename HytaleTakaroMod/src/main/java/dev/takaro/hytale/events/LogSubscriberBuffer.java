@@ -0,0 +1,89 @@
+package dev.takaro.hytale.events;
+
+import dev.takaro.hytale.util.MpscRingBuffer;
+
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.LogRecord;
+
+/**
+ * Adapter that lets {@code HytaleLoggerBackend.subscribe} write into a lock-free ring buffer.
+ * The subscriber API only accepts a CopyOnWriteArrayList, so this overrides every add path
+ * to hand records to the ring instead of copying the backing array on each log line.
+ * The list itself always stays empty.
+ */
+public class LogSubscriberBuffer extends CopyOnWriteArrayList<LogRecord> {
+    private final transient MpscRingBuffer<LogRecord> ring;
+    private volatile int highWaterMark = Integer.MAX_VALUE;
+    private volatile Runnable highWaterListener;
+
+    public LogSubscriberBuffer(int capacity) {
+        this.ring = new MpscRingBuffer<>(capacity);
+    }
+
+    /**
+     * Run {@code listener} on the logging thread whenever a record is added while
+     * at least {@code mark} records are waiting. The listener must be cheap and non-blocking.
+     */
+    public void setHighWaterListener(int mark, Runnable listener) {
+        this.highWaterMark = mark;
+        this.highWaterListener = listener;
+    }
+
+    public MpscRingBuffer<LogRecord> getRing() {
+        return ring;
+    }
+
+    @Override
+    public boolean add(LogRecord record) {
+        if (record != null) {
+            ring.offer(record);
+            Runnable listener = highWaterListener;
+            if (listener != null && ring.size() >= highWaterMark) {
+                listener.run();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void add(int index, LogRecord record) {
+        add(record);
+    }
+
+    @Override
+    public boolean addIfAbsent(LogRecord record) {
+        return add(record);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends LogRecord> records) {
+        for (LogRecord record : records) {
+            add(record);
+        }
+        return !records.isEmpty();
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends LogRecord> records) {
+        return addAll(records);
+    }
+
+    @Override
+    public int addAllAbsent(Collection<? extends LogRecord> records) {
+        addAll(records);
+        return records.size();
+    }
+
+    // Identity semantics: the list is always empty, so list equality would make every
+    // instance "equal" and unsubscribe could remove the wrong subscriber
+    @Override
+    public boolean equals(Object other) {
+        return this == other;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+}
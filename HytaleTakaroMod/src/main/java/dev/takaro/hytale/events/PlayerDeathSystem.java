@@ -15,8 +15,6 @@
 import dev.takaro.hytale.TakaroPlugin;
 
 import javax.annotation.Nonnull;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * ECS system that detects when players die and forwards the event to Takaro
@@ -70,35 +68,21 @@ public void onComponentAdded(
             // Get player's position at time of death
             TransformComponent transform = commandBuffer.getComponent(ref, TransformComponent.getComponentType());
 
-            // Build death event for Takaro
-            Map<String, Object> player = new HashMap<>();
-            player.put("name", playerName);
-            player.put("gameId", uuid);
-            player.put("platformId", "hytale:" + uuid);
-
-            Map<String, Object> eventData = new HashMap<>();
-            eventData.put("type", "player-death");
-            eventData.put("player", player);
-
-            // Add position if available
-            if (transform != null) {
-                Map<String, Object> position = new HashMap<>();
-                position.put("x", transform.getPosition().getX());
-                position.put("y", transform.getPosition().getY());
-                position.put("z", transform.getPosition().getZ());
-                eventData.put("position", position);
-            }
-
             // Add death cause as message if available
             Damage deathInfo = deathComponent.getDeathInfo();
-            if (deathInfo != null && deathComponent.getDeathCause() != null) {
-                eventData.put("msg", playerName + " died: " + deathComponent.getDeathCause().getId());
-            } else {
-                eventData.put("msg", playerName + " died");
-            }
+            String msg = deathInfo != null && deathComponent.getDeathCause() != null
+                ? playerName + " died: " + deathComponent.getDeathCause().getId()
+                : playerName + " died";
+
+            // Build death event for Takaro, with position if available
+            GameEvent.Player player = new GameEvent.Player(playerName, uuid);
+            GameEvent.PlayerDeath death = transform != null
+                ? new GameEvent.PlayerDeath(player, msg, true,
+                    transform.getPosition().getX(), transform.getPosition().getY(), transform.getPosition().getZ())
+                : new GameEvent.PlayerDeath(player, msg, false, 0, 0, 0);
 
             // Send to all Takaro connections (production and dev if enabled)
-            plugin.sendGameEventToAll("player-death", eventData);
+            plugin.sendGameEventToAll(death);
 
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error handling player death: " + e.getMessage());
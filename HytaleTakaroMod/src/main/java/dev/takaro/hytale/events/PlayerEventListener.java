@@ -2,12 +2,9 @@
 
 import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
-import com.hypixel.hytale.server.core.io.netty.NettyUtil;
 import dev.takaro.hytale.TakaroPlugin;
-import io.netty.channel.Channel;
+import dev.takaro.hytale.players.PlayerInfo;
 
-import java.net.InetSocketAddress;
-import java.net.SocketAddress;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -29,37 +26,14 @@ public PlayerEventListener(TakaroPlugin plugin) {
      */
     public void onPlayerConnect(PlayerConnectEvent event) {
         try {
-            // Extract player data
-            String playerName = event.getPlayerRef().getUsername();
-            String uuid = event.getPlayerRef().getUuid().toString();
-
-            // Get player IP address
-            String ipAddress = "127.0.0.1"; // Default fallback
-            try {
-                Channel channel = event.getPlayerRef().getPacketHandler().getChannel();
-                SocketAddress remoteAddress = NettyUtil.getRemoteSocketAddress(channel);
-                if (remoteAddress instanceof InetSocketAddress) {
-                    ipAddress = ((InetSocketAddress) remoteAddress).getAddress().getHostAddress();
-                }
-            } catch (Exception e) {
-                plugin.getLogger().at(java.util.logging.Level.WARNING).log("Could not get IP for player " + playerName + ": " + e.getMessage());
-            }
-
-            plugin.getLogger().at(java.util.logging.Level.INFO).log("[EVENT] Player connected: " + playerName + " from " + ipAddress);
+            // Player descriptor (name, ids, IP) captured once by the player directory
+            PlayerInfo info = plugin.getPlayerDirectory().getInfo(event.getPlayerRef());
 
-            // Build connect event for Takaro
-            Map<String, Object> eventData = new HashMap<>();
-
-            Map<String, String> player = new HashMap<>();
-            player.put("name", playerName);
-            player.put("gameId", uuid);
-            player.put("platformId", "hytale:" + uuid);
-            player.put("ip", ipAddress); // IP goes inside player object per IGamePlayer schema
-
-            eventData.put("player", player);
+            plugin.getLogger().at(java.util.logging.Level.INFO).log("[EVENT] Player connected: " + info.getName() + " from " + info.getIp());
 
             // Send to all Takaro connections (production and dev if enabled)
-            plugin.sendGameEventToAll("player-connected", eventData);
+            // IP goes inside player object per IGamePlayer schema
+            plugin.sendGameEventToAll(new GameEvent.PlayerConnected(info));
             plugin.getLogger().at(java.util.logging.Level.FINE).log("Forwarded player connect to Takaro");
 
         } catch (Exception e) {
@@ -88,18 +62,12 @@ public void onPlayerDisconnect(PlayerDisconnectEvent event) {
             }
             lastDisconnectTime.put(uuid, currentTime);
 
-            // Build disconnect event for Takaro
-            Map<String, Object> eventData = new HashMap<>();
-
-            Map<String, String> player = new HashMap<>();
-            player.put("name", playerName);
-            player.put("gameId", uuid);
-            player.put("platformId", "hytale:" + uuid);
-
-            eventData.put("player", player);
+            if (plugin.getSpamDetector() != null) {
+                plugin.getSpamDetector().release(event.getPlayerRef().getUuid());
+            }
 
             // Send to all Takaro connections (production and dev if enabled)
-            plugin.sendGameEventToAll("player-disconnected", eventData);
+            plugin.sendGameEventToAll(new GameEvent.PlayerDisconnected(new GameEvent.Player(playerName, uuid)));
 
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error handling player disconnect: " + e.getMessage());
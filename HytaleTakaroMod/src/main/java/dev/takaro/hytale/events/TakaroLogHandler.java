@@ -1,13 +1,14 @@
 package dev.takaro.hytale.events;
 
 import dev.takaro.hytale.TakaroPlugin;
+import dev.takaro.hytale.util.MpscRingBuffer;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.LogRecord;
 
 /**
@@ -16,15 +17,35 @@
  */
 public class TakaroLogHandler {
     private final TakaroPlugin plugin;
-    private final CopyOnWriteArrayList<LogRecord> logBuffer;
+    private final LogSubscriberBuffer logBuffer;
+    private final MpscRingBuffer<LogRecord> logRing;
     private final ScheduledExecutorService scheduler;
-    private static final int BATCH_SIZE = 50; // Send max 50 logs per batch
+    private static final int BATCH_SIZE = 50; // Send max 50 logs per batch (unbatched mode)
     private static final long SEND_INTERVAL_MS = 2000; // Send every 2 seconds
 
+    // Batched mode: many lines per gameEvent frame, split by byte budget
+    private final boolean batchEnabled;
+    private final int batchMaxBytes;
+    private final int maxLinesPerFlush;
+    private final StringBuilder batch = new StringBuilder(4096);
+    // Set when an early flush has been queued so a log storm only schedules one at a time
+    private final AtomicBoolean earlyFlushPending = new AtomicBoolean(false);
+
     public TakaroLogHandler(TakaroPlugin plugin) {
         this.plugin = plugin;
-        this.logBuffer = new CopyOnWriteArrayList<>();
+        this.logBuffer = new LogSubscriberBuffer(plugin.getConfig().getLogBufferCapacity());
+        this.logRing = logBuffer.getRing();
         this.scheduler = Executors.newSingleThreadScheduledExecutor();
+        this.batchEnabled = plugin.getConfig().isLogBatchEnabled();
+        this.batchMaxBytes = Math.max(1024, plugin.getConfig().getLogBatchMaxBytes());
+        this.maxLinesPerFlush = Math.max(BATCH_SIZE, plugin.getConfig().getLogMaxLinesPerFlush());
+
+        if (batchEnabled) {
+            int highWaterMark = plugin.getConfig().getLogFlushHighWaterMark();
+            if (highWaterMark > 0) {
+                logBuffer.setHighWaterListener(highWaterMark, this::requestEarlyFlush);
+            }
+        }
     }
 
     /**
@@ -41,6 +62,12 @@ public void start() {
      */
     public void stop() {
         scheduler.shutdownNow();
+        try {
+            // Let an in-flight forward finish so the ring keeps a single consumer
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
         forwardLogs(); // Send any remaining logs
         plugin.getLogger().at(java.util.logging.Level.INFO).log("Stopped Takaro log forwarding");
     }
@@ -53,44 +80,130 @@ public CopyOnWriteArrayList<LogRecord> getLogBuffer() {
     }
 
     /**
-     * Forward accumulated logs to Takaro
+     * Number of log records waiting to be forwarded
      */
-    private void forwardLogs() {
-        if (logBuffer.isEmpty()) {
-            return;
+    public int getPendingCount() {
+        return logRing.size();
+    }
+
+    /**
+     * Number of log records dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return logRing.getDroppedCount();
+    }
+
+    /**
+     * Called from logging threads when the buffer crosses its high-water mark.
+     * Queues one immediate flush instead of waiting for the next interval.
+     */
+    private void requestEarlyFlush() {
+        if (earlyFlushPending.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::forwardLogs);
+            } catch (RejectedExecutionException e) {
+                // Shutting down - the final flush in stop() picks up what's left
+                earlyFlushPending.set(false);
+            }
         }
+    }
 
+    /**
+     * Forward accumulated logs to Takaro
+     */
+    private void forwardLogs() {
+        earlyFlushPending.set(false);
         try {
-            // Take up to BATCH_SIZE logs
-            int count = Math.min(BATCH_SIZE, logBuffer.size());
-            for (int i = 0; i < count; i++) {
-                LogRecord record = logBuffer.remove(0);
-                sendLogToTakaro(record);
+            if (batchEnabled) {
+                forwardBatched();
+            } else {
+                // Take up to BATCH_SIZE logs
+                logRing.drain(this::sendLogToTakaro, BATCH_SIZE);
             }
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.WARNING).log("Error forwarding logs: " + e.getMessage());
         }
     }
 
+    /**
+     * Pack waiting log lines into as few multi-line frames as the byte budget allows
+     */
+    private void forwardBatched() {
+        batch.setLength(0);
+        int batchBytes = 0;
+        int lines = 0;
+        LogRecord record;
+
+        while (lines < maxLinesPerFlush && (record = logRing.poll()) != null) {
+            int start = batch.length();
+            if (start > 0) {
+                batch.append('\n');
+            }
+            appendLogLine(batch, record);
+            int lineBytes = utf8Length(batch, start);
+
+            if (start > 0 && batchBytes + lineBytes > batchMaxBytes) {
+                // Line doesn't fit - send what we have and start a new frame with it
+                String line = batch.substring(start + 1);
+                batch.setLength(start);
+                sendBatch();
+                batch.setLength(0);
+                batch.append(line);
+                batchBytes = lineBytes - 1;
+            } else {
+                batchBytes += lineBytes;
+            }
+            lines++;
+        }
+
+        if (batch.length() > 0) {
+            sendBatch();
+        }
+    }
+
+    private void sendBatch() {
+        plugin.sendGameEventToAll(new GameEvent.Log(batch.toString()));
+    }
+
+    private static void appendLogLine(StringBuilder out, LogRecord record) {
+        String loggerName = record.getLoggerName() != null ? record.getLoggerName() : "Hytale";
+        out.append('[').append(record.getLevel().getName()).append("] [")
+            .append(loggerName).append("] ")
+            .append(record.getMessage());
+    }
+
+    /**
+     * UTF-8 encoded length of the builder's tail starting at {@code from}, without encoding it
+     */
+    private static int utf8Length(CharSequence text, int from) {
+        int bytes = 0;
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
     /**
      * Send a single log record to Takaro
      */
     private void sendLogToTakaro(LogRecord record) {
         try {
-            // Format the log message
-            String loggerName = record.getLoggerName() != null ? record.getLoggerName() : "Hytale";
-            String level = record.getLevel().getName();
-            String message = record.getMessage();
-
             // Build formatted log line
-            String formattedLog = String.format("[%s] [%s] %s", level, loggerName, message);
-
-            // Build log event for Takaro
-            Map<String, Object> logData = new HashMap<>();
-            logData.put("msg", formattedLog);
+            StringBuilder formattedLog = new StringBuilder(128);
+            appendLogLine(formattedLog, record);
 
             // Send to all Takaro connections (production and dev if enabled)
-            plugin.sendGameEventToAll("log", logData);
+            plugin.sendGameEventToAll(new GameEvent.Log(formattedLog.toString()));
 
         } catch (Exception e) {
             // Don't log errors here to avoid infinite loop
@@ -0,0 +1,162 @@
+package dev.takaro.hytale.handlers;
+
+import dev.takaro.hytale.chat.ChatFilter;
+import dev.takaro.hytale.websocket.InboundMessage;
+import dev.takaro.hytale.websocket.MessageFields;
+
+/**
+ * Typed arguments for Takaro actions, bound straight from a decoded request.
+ * Each record's {@code parse} is its action's {@link ActionSpec.ArgsParser}; a missing
+ * required argument throws and is answered as an error by the dispatcher.
+ */
+final class ActionArgs {
+    static final String DEFAULT_KICK_REASON = "You were kicked.";
+
+    private ActionArgs() {
+    }
+
+    /**
+     * Target player of an action: args.gameId, args.player.gameId, then payload playerId/gameId
+     * @return the gameId, or null if none was sent
+     */
+    static String playerGameId(InboundMessage request) {
+        MessageFields args = request.getArgs();
+        MessageFields payload = request.getPayload();
+        if (args.has("gameId")) {
+            return args.getString("gameId");
+        }
+        if (args.has("player.gameId")) {
+            return args.getString("player.gameId");
+        }
+        if (payload.has("playerId")) {
+            return payload.getString("playerId");
+        }
+        return payload.getString("gameId");
+    }
+
+    /**
+     * Actions that only name a player (location, inventory, beds, ban)
+     */
+    record PlayerTarget(String gameId) {
+        static PlayerTarget parse(InboundMessage request) {
+            return new PlayerTarget(playerGameId(request));
+        }
+    }
+
+    /**
+     * getPlayer: by gameId or by name
+     */
+    record PlayerLookup(String gameId, String name) {
+        static PlayerLookup parse(InboundMessage request) {
+            MessageFields source = request.hasArgs() ? request.getArgs() : request.getPayload();
+            String gameId = source.getString("gameId");
+            if (gameId == null && !request.hasArgs()) {
+                gameId = source.getString("playerId");
+            }
+            return new PlayerLookup(gameId, gameId == null ? source.getString("name") : null);
+        }
+    }
+
+    /**
+     * sendMessage: broadcast, or whisper when opts.recipient.gameId is set
+     */
+    record SendMessage(String message, String recipientGameId) {
+        static SendMessage parse(InboundMessage request) {
+            if (request.hasArgs()) {
+                MessageFields args = request.getArgs();
+                return new SendMessage(args.require("message"), args.getString("opts.recipient.gameId"));
+            }
+            return new SendMessage(request.getPayload().require("message"), null);
+        }
+    }
+
+    /**
+     * setPlayerNameColor: a null color clears it
+     */
+    record SetNameColor(String uuid, String color) {
+        static SetNameColor parse(InboundMessage request) {
+            MessageFields args = request.getArgs();
+            return new SetNameColor(args.require("uuid"), args.getString("color"));
+        }
+    }
+
+    record ExecuteCommand(String command) {
+        static ExecuteCommand parse(InboundMessage request) {
+            return new ExecuteCommand(request.getArgs().require("command").trim());
+        }
+    }
+
+    record GiveItem(String gameId, String item, int amount) {
+        static GiveItem parse(InboundMessage request) {
+            MessageFields args = request.getArgs();
+            return new GiveItem(playerGameId(request), args.require("item"), args.getInt("amount", 1));
+        }
+    }
+
+    record KickPlayer(String gameId, String reason) {
+        static KickPlayer parse(InboundMessage request) {
+            return new KickPlayer(playerGameId(request), request.getArgs().getString("reason", DEFAULT_KICK_REASON));
+        }
+    }
+
+    record TeleportPlayer(String gameId, double x, double y, double z) {
+        static TeleportPlayer parse(InboundMessage request) {
+            MessageFields args = request.getArgs();
+            return new TeleportPlayer(playerGameId(request),
+                args.requireDouble("x"), args.requireDouble("y"), args.requireDouble("z"));
+        }
+    }
+
+    /**
+     * teleportPlayerToPlayer: target from targetGameId or targetPlayerId
+     */
+    record TeleportToPlayer(String gameId, String targetGameId) {
+        static TeleportToPlayer parse(InboundMessage request) {
+            MessageFields args = request.getArgs();
+            String target = args.has("targetGameId") ? args.getString("targetGameId") : args.getString("targetPlayerId");
+            return new TeleportToPlayer(playerGameId(request), target);
+        }
+    }
+
+    /**
+     * setChatFilter: {"words": ["a", "b"] or "a,b", "mode": "mask|cancel|off", "wholeWords": true}.
+     * Words, mode and wholeWords keep their current values when omitted.
+     */
+    record SetChatFilter(String words, ChatFilter.Mode mode, Boolean wholeWords) {
+        static SetChatFilter parse(InboundMessage request) {
+            MessageFields args = request.getArgs();
+            String modeName = args.getString("mode");
+            ChatFilter.Mode mode = null;
+            if (modeName != null) {
+                mode = ChatFilter.Mode.parse(modeName, null);
+                if (mode == null) {
+                    throw new IllegalArgumentException("Unknown chat filter mode: " + modeName);
+                }
+            }
+            String wholeWordsValue = args.getString("wholeWords");
+            Boolean wholeWords = null;
+            if (wholeWordsValue != null) {
+                if (!"true".equalsIgnoreCase(wholeWordsValue) && !"false".equalsIgnoreCase(wholeWordsValue)) {
+                    throw new IllegalArgumentException("wholeWords must be true or false: " + wholeWordsValue);
+                }
+                wholeWords = Boolean.parseBoolean(wholeWordsValue);
+            }
+            return new SetChatFilter(args.getString("words"), mode, wholeWords);
+        }
+    }
+
+    /**
+     * listItems paging/filtering: {"prefix": "Weapon_", "offset": 0, "limit": 100}
+     */
+    record ListItems(String prefix, int offset, int limit) {
+        static final ListItems ALL = new ListItems(null, 0, -1);
+
+        static ListItems parse(InboundMessage request) {
+            MessageFields args = request.getArgs();
+            if (args.isEmpty()) {
+                return ALL;
+            }
+            return new ListItems(args.getString("prefix"), args.getInt("offset", 0), args.getInt("limit", -1));
+        }
+    }
+}
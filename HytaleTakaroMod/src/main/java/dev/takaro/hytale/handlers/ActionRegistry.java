@@ -0,0 +1,72 @@
+package dev.takaro.hytale.handlers;
+
+import dev.takaro.hytale.config.TakaroConfig;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Action name -> handler registry used by TakaroRequestHandler to dispatch Takaro requests.
+ * Also owns the per-concurrency-class in-flight limits, so new actions only need
+ * a {@link #register} call and pick up scheduling, limits and stats from their spec.
+ */
+public class ActionRegistry {
+    private final Map<String, ActionSpec<?>> actions = new ConcurrentHashMap<>();
+    private final Map<ActionSpec.ConcurrencyClass, Semaphore> permits = new EnumMap<>(ActionSpec.ConcurrencyClass.class);
+
+    public ActionRegistry(TakaroConfig config) {
+        permits.put(ActionSpec.ConcurrencyClass.READ, new Semaphore(Math.max(1, config.getReadActionConcurrency())));
+        permits.put(ActionSpec.ConcurrencyClass.WORLD, new Semaphore(Math.max(1, config.getWorldActionConcurrency())));
+        permits.put(ActionSpec.ConcurrencyClass.ADMIN, new Semaphore(Math.max(1, config.getAdminActionConcurrency())));
+    }
+
+    /**
+     * Register an action under its name and any aliases, replacing existing registrations
+     */
+    public void register(ActionSpec<?> spec, String... aliases) {
+        actions.put(spec.getName(), spec);
+        for (String alias : aliases) {
+            actions.put(alias, spec);
+        }
+    }
+
+    /**
+     * @return the action registered under {@code name}, or null if unknown
+     */
+    public ActionSpec<?> get(String name) {
+        return name != null ? actions.get(name) : null;
+    }
+
+    /**
+     * Distinct registered actions (aliases collapsed)
+     */
+    public Collection<ActionSpec<?>> getSpecs() {
+        Set<ActionSpec<?>> specs = new LinkedHashSet<>(actions.values());
+        return Collections.unmodifiableCollection(specs);
+    }
+
+    /**
+     * Claim an in-flight slot for the action's concurrency class without blocking
+     * @return false if the class is at its limit
+     */
+    boolean tryAcquire(ActionSpec<?> spec) {
+        return permits.get(spec.getConcurrency()).tryAcquire();
+    }
+
+    void release(ActionSpec<?> spec) {
+        permits.get(spec.getConcurrency()).release();
+    }
+
+    /**
+     * In-flight slots currently free for a concurrency class
+     */
+    public int getAvailablePermits(ActionSpec.ConcurrencyClass concurrency) {
+        return permits.get(concurrency).availablePermits();
+    }
+}
@@ -0,0 +1,140 @@
+package dev.takaro.hytale.handlers;
+
+import dev.takaro.hytale.websocket.InboundMessage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registration for one Takaro action: how to parse its arguments, how to run it,
+ * and the metadata the dispatcher uses to schedule and time it.
+ *
+ * @param <A> parsed argument type handed to the action
+ */
+public final class ActionSpec<A> {
+
+    /**
+     * Binds the decoded request's fields to the action's arguments
+     */
+    @FunctionalInterface
+    public interface ArgsParser<A> {
+        A parse(InboundMessage request) throws Exception;
+
+        /**
+         * For actions that take no arguments
+         */
+        ArgsParser<Void> NONE = request -> null;
+    }
+
+    /**
+     * Runs the action. May return a CompletionStage for work finished on a world thread.
+     */
+    @FunctionalInterface
+    public interface Action<A> {
+        Object handle(A args) throws Exception;
+    }
+
+    /**
+     * Actions in the same class share an in-flight limit, so cheap reads can't be
+     * starved by slow admin commands and vice versa
+     */
+    public enum ConcurrencyClass {
+        READ,   // Cheap lookups answered from caches (getPlayers, listItems, ...)
+        WORLD,  // Work posted to a world thread (give, teleport, inventory, ...)
+        ADMIN   // Console commands and other slow or rare actions
+    }
+
+    private static final long DEFAULT_TIMEOUT_MS = 10_000;
+
+    private final String name;
+    private final ArgsParser<A> parser;
+    private final Action<A> action;
+    private final boolean worldThread;
+    private final long timeoutMs;
+    private final ConcurrencyClass concurrency;
+    private final ActionStats stats = new ActionStats();
+
+    private ActionSpec(Builder<A> builder) {
+        this.name = builder.name;
+        this.parser = builder.parser;
+        this.action = builder.action;
+        this.worldThread = builder.worldThread;
+        this.timeoutMs = builder.timeoutMs;
+        this.concurrency = builder.concurrency;
+    }
+
+    public static <A> Builder<A> builder(String name, ArgsParser<A> parser, Action<A> action) {
+        return new Builder<>(name, parser, action);
+    }
+
+    /**
+     * Bind the request's arguments and run the action
+     */
+    public Object invoke(InboundMessage request) throws Exception {
+        return action.handle(parser.parse(request));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Whether the action only validates and posts its work to a world thread,
+     * so it never blocks the caller and can be dispatched inline
+     */
+    public boolean isWorldThread() {
+        return worldThread;
+    }
+
+    /**
+     * Deadline for a CompletionStage result before the request is answered with a timeout
+     */
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public ConcurrencyClass getConcurrency() {
+        return concurrency;
+    }
+
+    public ActionStats getStats() {
+        return stats;
+    }
+
+    public static final class Builder<A> {
+        private final String name;
+        private final ArgsParser<A> parser;
+        private final Action<A> action;
+        private boolean worldThread = false;
+        private long timeoutMs = DEFAULT_TIMEOUT_MS;
+        private ConcurrencyClass concurrency = ConcurrencyClass.READ;
+
+        private Builder(String name, ArgsParser<A> parser, Action<A> action) {
+            this.name = name;
+            this.parser = parser;
+            this.action = action;
+        }
+
+        /**
+         * Mark as world-thread work (also moves it to the WORLD concurrency class)
+         */
+        public Builder<A> worldThread() {
+            this.worldThread = true;
+            this.concurrency = ConcurrencyClass.WORLD;
+            return this;
+        }
+
+        public Builder<A> timeout(long timeout, TimeUnit unit) {
+            this.timeoutMs = unit.toMillis(timeout);
+            return this;
+        }
+
+        public Builder<A> concurrency(ConcurrencyClass concurrency) {
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        public ActionSpec<A> build() {
+            return new ActionSpec<>(this);
+        }
+    }
+}
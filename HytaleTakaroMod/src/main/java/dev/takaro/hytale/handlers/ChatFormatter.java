@@ -7,12 +7,26 @@
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+/**
+ * Chat markup: {@code [ff0000]text[-]} / {@code [red]text[-]} color spans, plus clickable
+ * URLs in messages from Takaro. Markup is lexed in one pass into immutable spans, and the
+ * spans of recent strings (COMMAND_RESPONSE, module broadcasts) are cached, so a recurring
+ * string only costs building its Message parts. Messages themselves are mutable
+ * ({@code insert}, {@code color}) and are never shared between calls.
+ */
 public class ChatFormatter {
+    private static final String LINK_COLOR = "#00BFFF";
+    private static final String TAG_CLOSE = "[-]";
+    // Parsed spans of recent strings; long strings (mostly one-off chat) aren't worth keeping
+    private static final int CACHE_CAPACITY = 512;
+    private static final int CACHE_MAX_LENGTH = 512;
+    private static final Map<String, Span[]> COLORED_CACHE = newCache();
+    private static final Map<String, Span[]> TAKARO_CACHE = newCache();
+
     // Named color mappings
     private static final Map<String, Color> NAMED_COLORS = new HashMap<>();
 
@@ -36,11 +50,19 @@ public class ChatFormatter {
     }
 
     public static void onPlayerChat(PlayerChatEvent event) {
+        onPlayerChat(event, event.getContent());
+    }
+
+    /**
+     * Default chat formatting, showing {@code content} in place of what the player typed
+     * (e.g. after the chat filter masked it)
+     */
+    public static void onPlayerChat(PlayerChatEvent event, String content) {
         PlayerRef sender = event.getSender();
-        String content = event.getContent();
+        boolean replaced = !content.equals(event.getContent());
 
         // Parse color codes in player messages
-        if (content.contains("[") && content.contains("]")) {
+        if (replaced || (content.contains("[") && content.contains("]"))) {
             Message formattedMessage = parseColoredMessage(content);
             if (formattedMessage != null) {
                 event.setFormatter((playerRef, message) ->
@@ -60,56 +82,10 @@ public static void onPlayerChat(PlayerChatEvent event) {
      * Returns a formatted Message object with colors applied
      */
     public static Message parseColoredMessage(String input) {
-        if (input == null || input.isEmpty()) {
+        if (input == null || input.isEmpty() || input.indexOf('[') < 0) {
             return Message.raw(input);
         }
-
-        // Pattern to match [colorcode]text[-]
-        // Supports hex like [ff0000] or named like [red]
-        Pattern pattern = Pattern.compile("\\[([a-fA-F0-9]{6}|[a-zA-Z]+)\\](.*?)\\[-\\]");
-        Matcher matcher = pattern.matcher(input);
-
-        List<Message> parts = new ArrayList<>();
-        int lastEnd = 0;
-
-        while (matcher.find()) {
-            // Add text before the color code as plain text
-            if (matcher.start() > lastEnd) {
-                String beforeText = input.substring(lastEnd, matcher.start());
-                if (!beforeText.isEmpty()) {
-                    parts.add(Message.raw(beforeText));
-                }
-            }
-
-            String colorCode = matcher.group(1);
-            String coloredText = matcher.group(2);
-
-            Color color = parseColor(colorCode);
-            if (color != null) {
-                parts.add(Message.raw(coloredText).color(color));
-            } else {
-                // If color parsing failed, just add as plain text
-                parts.add(Message.raw(coloredText));
-            }
-
-            lastEnd = matcher.end();
-        }
-
-        // Add remaining text after last match
-        if (lastEnd < input.length()) {
-            String remainingText = input.substring(lastEnd);
-            if (!remainingText.isEmpty()) {
-                parts.add(Message.raw(remainingText));
-            }
-        }
-
-        if (parts.isEmpty()) {
-            return Message.raw(input);
-        } else if (parts.size() == 1) {
-            return parts.get(0);
-        } else {
-            return Message.join(parts.toArray(new Message[0]));
-        }
+        return build(lookup(COLORED_CACHE, input, false), input);
     }
 
     /**
@@ -150,107 +126,212 @@ public static Message parseTakaroMessage(String input) {
         if (input == null || input.isEmpty()) {
             return Message.raw(input);
         }
+        return build(lookup(TAKARO_CACHE, input, true), input);
+    }
 
-        // Pattern to match [colorcode]text[-]
-        Pattern colorPattern = Pattern.compile("\\[([a-fA-F0-9]{6}|[a-zA-Z]+)\\](.*?)\\[-\\]");
-        Matcher colorMatcher = colorPattern.matcher(input);
-
-        List<Message> parts = new ArrayList<>();
-        int lastEnd = 0;
-
-        while (colorMatcher.find()) {
-            // Add text before the color code, parsing URLs
-            if (colorMatcher.start() > lastEnd) {
-                String beforeText = input.substring(lastEnd, colorMatcher.start());
-                if (!beforeText.isEmpty()) {
-                    parts.addAll(parseLinksInText(beforeText));
-                }
+    /**
+     * A run of text with its color and link target (either may be null)
+     */
+    private record Span(String text, Color color, String link) {
+        Message toMessage() {
+            Message message = Message.raw(text);
+            if (link != null) {
+                message = message.link(link);
             }
-
-            String colorCode = colorMatcher.group(1);
-            String coloredText = colorMatcher.group(2);
-
-            Color color = parseColor(colorCode);
             if (color != null) {
-                // Parse URLs within colored text
-                List<Message> coloredParts = parseLinksInText(coloredText);
-                for (Message part : coloredParts) {
-                    // Apply color to each part
-                    parts.add(part.color(color));
-                }
-            } else {
-                // If color parsing failed, parse URLs in text
-                parts.addAll(parseLinksInText(coloredText));
+                message = message.color(color);
+            } else if (link != null) {
+                message = message.color(LINK_COLOR);
             }
-
-            lastEnd = colorMatcher.end();
+            return message;
         }
+    }
 
-        // Add remaining text after last match, parsing URLs
-        if (lastEnd < input.length()) {
-            String remainingText = input.substring(lastEnd);
-            if (!remainingText.isEmpty()) {
-                parts.addAll(parseLinksInText(remainingText));
+    private static Map<String, Span[]> newCache() {
+        return new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Span[]> eldest) {
+                return size() > CACHE_CAPACITY;
             }
+        };
+    }
+
+    private static Span[] lookup(Map<String, Span[]> cache, String input, boolean links) {
+        if (input.length() > CACHE_MAX_LENGTH) {
+            return lex(input, links);
         }
+        synchronized (cache) {
+            Span[] spans = cache.get(input);
+            if (spans != null) {
+                return spans;
+            }
+        }
+        Span[] spans = lex(input, links);
+        synchronized (cache) {
+            cache.put(input, spans);
+        }
+        return spans;
+    }
 
-        if (parts.isEmpty()) {
+    private static Message build(Span[] spans, String input) {
+        if (spans.length == 0) {
             return Message.raw(input);
-        } else if (parts.size() == 1) {
-            return parts.get(0);
-        } else {
-            return Message.join(parts.toArray(new Message[0]));
+        } else if (spans.length == 1) {
+            return spans[0].toMessage();
         }
+        Message[] parts = new Message[spans.length];
+        for (int i = 0; i < spans.length; i++) {
+            parts[i] = spans[i].toMessage();
+        }
+        return Message.join(parts);
     }
 
     /**
-     * Parse URLs in text and return Message parts with clickable links
+     * Single pass over the input. A tag is {@code [} + six hex digits or a run of letters
+     * + {@code ]}, and only counts when a {@code [-]} follows before the end of the line;
+     * the shortest such span is taken. Tags naming an unknown color are stripped and their
+     * text left uncolored.
      */
-    private static List<Message> parseLinksInText(String text) {
-        List<Message> parts = new ArrayList<>();
-
-        // Pattern to match URLs (http://, https://, or www.)
-        Pattern urlPattern = Pattern.compile("(https?://[^\\s]+|www\\.[^\\s]+)");
-        Matcher urlMatcher = urlPattern.matcher(text);
-
-        int lastEnd = 0;
-
-        while (urlMatcher.find()) {
-            // Add text before URL as plain text
-            if (urlMatcher.start() > lastEnd) {
-                String beforeText = text.substring(lastEnd, urlMatcher.start());
-                if (!beforeText.isEmpty()) {
-                    parts.add(Message.raw(beforeText));
-                }
+    private static Span[] lex(String input, boolean links) {
+        List<Span> spans = new ArrayList<>();
+        int length = input.length();
+        int plainStart = 0;
+        // Next "[-]" and line break at or after the scan position, found once and reused as it advances
+        int nextClose = -2;
+        int nextBreak = -2;
+
+        int i = input.indexOf('[');
+        while (i >= 0 && i < length) {
+            int tagEnd = tagEnd(input, i);
+            if (tagEnd < 0) {
+                i = input.indexOf('[', i + 1);
+                continue;
+            }
+            int textStart = tagEnd + 1;
+            if (nextClose != -1 && nextClose < textStart) {
+                nextClose = input.indexOf(TAG_CLOSE, textStart);
+            }
+            if (nextClose < 0) {
+                break; // No closer anywhere further on - nothing else can be a span
+            }
+            if (nextBreak != -1 && nextBreak < textStart) {
+                nextBreak = nextLineBreak(input, textStart);
+            }
+            if (nextBreak >= 0 && nextBreak < nextClose) {
+                // Span can't cross a line; resume scanning on the next line
+                i = input.indexOf('[', tagEnd + 1);
+                continue;
             }
 
-            String url = urlMatcher.group(1);
-            String linkUrl = url;
-
-            // If URL starts with www., add https:// for the link
-            if (url.startsWith("www.")) {
-                linkUrl = "https://" + url;
+            if (i > plainStart) {
+                addText(spans, input.substring(plainStart, i), null, links);
             }
+            Color color = parseColor(input.substring(i + 1, tagEnd));
+            addText(spans, input.substring(textStart, nextClose), color, links);
+            plainStart = nextClose + TAG_CLOSE.length();
+            i = input.indexOf('[', plainStart);
+        }
 
-            // Create clickable link in cyan color
-            parts.add(Message.raw(url).link(linkUrl).color("#00BFFF"));
+        if (plainStart < length) {
+            addText(spans, input.substring(plainStart), null, links);
+        }
+        return spans.toArray(new Span[0]);
+    }
 
-            lastEnd = urlMatcher.end();
+    /**
+     * Index of the next line terminator (as regex {@code .} understands it) from {@code from}, or -1
+     */
+    private static int nextLineBreak(String input, int from) {
+        for (int i = from; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return i;
+            }
         }
+        return -1;
+    }
 
-        // Add remaining text after last URL
-        if (lastEnd < text.length()) {
-            String remainingText = text.substring(lastEnd);
-            if (!remainingText.isEmpty()) {
-                parts.add(Message.raw(remainingText));
+    /**
+     * @return index of the {@code ]} closing a valid color tag opened at {@code open}, or -1
+     */
+    private static int tagEnd(String input, int open) {
+        int length = input.length();
+        int j = open + 1;
+        boolean letters = true;
+        boolean hex = true;
+        while (j < length) {
+            char c = input.charAt(j);
+            if (c == ']') {
+                break;
             }
+            boolean letter = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+            letters &= letter;
+            hex &= (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+            if (!letters && !hex) {
+                return -1;
+            }
+            j++;
+        }
+        int nameLength = j - open - 1;
+        if (j >= length || nameLength == 0) {
+            return -1;
         }
+        return letters || (hex && nameLength == 6) ? j : -1;
+    }
 
-        // If no URLs found, return the whole text as one part
-        if (parts.isEmpty()) {
-            parts.add(Message.raw(text));
+    /**
+     * Add a run of text, splitting out URLs (http://, https://, www.) when {@code links} is set
+     */
+    private static void addText(List<Span> spans, String text, Color color, boolean links) {
+        if (!links) {
+            spans.add(new Span(text, color, null));
+            return;
+        }
+        int length = text.length();
+        int plainStart = 0;
+        int i = 0;
+        while (i < length) {
+            int urlStart = urlPrefixEnd(text, i);
+            if (urlStart < 0 || urlStart >= length || isSpace(text.charAt(urlStart))) {
+                i++;
+                continue;
+            }
+            int end = urlStart;
+            while (end < length && !isSpace(text.charAt(end))) {
+                end++;
+            }
+            if (i > plainStart) {
+                spans.add(new Span(text.substring(plainStart, i), color, null));
+            }
+            String url = text.substring(i, end);
+            spans.add(new Span(url, color, url.startsWith("www.") ? "https://" + url : url));
+            plainStart = end;
+            i = end;
         }
+        if (plainStart < length || plainStart == 0) {
+            spans.add(new Span(text.substring(plainStart), color, null));
+        }
+    }
 
-        return parts;
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * @return index just past "http://", "https://" or "www." at {@code i}, or -1
+     */
+    private static int urlPrefixEnd(String text, int i) {
+        char c = text.charAt(i);
+        if (c == 'h') {
+            if (text.startsWith("https://", i)) {
+                return i + 8;
+            }
+            if (text.startsWith("http://", i)) {
+                return i + 7;
+            }
+        } else if (c == 'w' && text.startsWith("www.", i)) {
+            return i + 4;
+        }
+        return -1;
     }
 }
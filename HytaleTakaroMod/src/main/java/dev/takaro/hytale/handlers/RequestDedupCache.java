@@ -0,0 +1,129 @@
+package dev.takaro.hytale.handlers;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recently seen Takaro requests and their responses, so a request Takaro retries after a
+ * connection hiccup isn't executed twice (double giveItem payouts, repeated commands).
+ * <p>
+ * The first delivery of a key claims it and runs the action. A duplicate that arrives
+ * while it runs gets the same pending response; one that arrives after it finished gets
+ * the memoized response without touching the game. Entries expire after the TTL and the
+ * oldest finished entries are evicted beyond the capacity. Safe to use from any thread.
+ */
+public final class RequestDedupCache {
+    private final Map<String, Entry> entries = new LinkedHashMap<>(); // Arrival order, guarded by itself
+    private final int capacity;
+    private final long ttlNanos;
+    private final LongAdder inFlightDuplicates = new LongAdder();
+    private final LongAdder memoizedDuplicates = new LongAdder();
+
+    private static final class Entry {
+        final long createdNanos;
+        final CompletableFuture<Object> response = new CompletableFuture<>();
+
+        Entry(long createdNanos) {
+            this.createdNanos = createdNanos;
+        }
+    }
+
+    public RequestDedupCache(int capacity, long ttl, TimeUnit unit) {
+        this.capacity = Math.max(1, capacity);
+        this.ttlNanos = unit.toNanos(Math.max(1, ttl));
+    }
+
+    /**
+     * Claim a request key
+     * @return null if the caller is the first delivery and must execute the request,
+     *         otherwise the (possibly still pending) response of the first delivery
+     */
+    public CompletableFuture<Object> claim(String key) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            evict(now);
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                if (existing.response.isDone()) {
+                    memoizedDuplicates.increment();
+                } else {
+                    inFlightDuplicates.increment();
+                }
+                return existing.response;
+            }
+            entries.put(key, new Entry(now));
+            return null;
+        }
+    }
+
+    /**
+     * Record the response of a claimed request, releasing any duplicates waiting on it
+     */
+    public void complete(String key, Object response) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            entry.response.complete(response);
+        }
+    }
+
+    /**
+     * Answer waiting duplicates but don't memoize - for requests rejected before running
+     * (busy), which Takaro is welcome to retry
+     */
+    public void release(String key, Object response) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.remove(key);
+        }
+        if (entry != null) {
+            entry.response.complete(response);
+        }
+    }
+
+    /**
+     * Drop expired entries, then finished ones beyond capacity, oldest first. In-flight
+     * entries are skipped - they must stay claimed until they complete - so a long-running
+     * request doesn't hold back eviction of everything that arrived after it.
+     */
+    private void evict(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry oldest = it.next();
+            if (!oldest.response.isDone()) {
+                continue;
+            }
+            boolean expired = now - oldest.createdNanos > ttlNanos;
+            if (!expired && entries.size() < capacity) {
+                return;
+            }
+            it.remove();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Duplicates that attached to a request still running
+     */
+    public long getInFlightDuplicates() {
+        return inFlightDuplicates.sum();
+    }
+
+    /**
+     * Duplicates answered from a memoized response
+     */
+    public long getMemoizedDuplicates() {
+        return memoizedDuplicates.sum();
+    }
+}
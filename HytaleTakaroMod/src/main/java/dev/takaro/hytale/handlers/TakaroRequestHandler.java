@@ -1,7 +1,5 @@
 package dev.takaro.hytale.handlers;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.logger.backend.HytaleLoggerBackend;
@@ -21,116 +19,328 @@
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import dev.takaro.hytale.TakaroPlugin;
 import dev.takaro.hytale.api.HytaleApiClient;
+import dev.takaro.hytale.chat.ChatFilter;
+import dev.takaro.hytale.items.ItemCatalog;
+import dev.takaro.hytale.util.RawJson;
+import dev.takaro.hytale.websocket.InboundMessage;
 
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.LogRecord;
-import java.util.stream.Collectors;
 
 public class TakaroRequestHandler {
+    // Bound on a raw console command, including the wait for the console capture lock
+    private static final long EXECUTE_COMMAND_TIMEOUT_SECONDS = 30;
+
     private final TakaroPlugin plugin;
     private final HytaleApiClient hytaleApi;
-    private final Gson gson = new Gson();
+    // Runs requests off the WebSocket read thread so a slow action can't stall pings or other requests
+    private final ThreadPoolExecutor requestExecutor;
+    // Console output capture subscribes to the global logger, so only one capture may run at a time
+    private final ReentrantLock consoleCaptureLock = new ReentrantLock();
+    private final ActionRegistry actions;
+    // Retried requestIds are answered from here instead of running the action again
+    private final RequestDedupCache dedup;
+    // executeCommand shortcuts by lowercase first word: bare word vs. word followed by arguments
+    private final Map<String, ConsoleShortcut> exactShortcuts = new HashMap<>();
+    private final Map<String, ConsoleShortcut> argShortcuts = new HashMap<>();
+
+    /**
+     * Handler for a shortcut typed through executeCommand
+     */
+    @FunctionalInterface
+    private interface ConsoleShortcut {
+        Object run(String command, String rest) throws Exception;
+    }
 
     public TakaroRequestHandler(TakaroPlugin plugin, HytaleApiClient hytaleApi) {
         this.plugin = plugin;
         this.hytaleApi = hytaleApi;
+
+        int concurrency = Math.max(1, plugin.getConfig().getRequestConcurrency());
+        int queueLimit = Math.max(1, plugin.getConfig().getRequestQueueLimit());
+        this.requestExecutor = new ThreadPoolExecutor(
+            concurrency, concurrency,
+            60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueLimit),
+            Thread.ofVirtual().name("Takaro-Request-", 0).factory()
+        );
+        this.requestExecutor.allowCoreThreadTimeOut(true);
+
+        this.actions = new ActionRegistry(plugin.getConfig());
+        this.dedup = new RequestDedupCache(plugin.getConfig().getRequestDedupCapacity(),
+            plugin.getConfig().getRequestDedupTtlSeconds(), TimeUnit.SECONDS);
+        registerActions();
+        registerConsoleShortcuts();
     }
 
-    public void handleRequest(dev.takaro.hytale.websocket.TakaroWebSocket sourceWebSocket, String requestId, String action, JsonObject payload) {
+    /**
+     * Register every Takaro action with its scheduling metadata
+     */
+    private void registerActions() {
+        ActionSpec.ArgsParser<Void> none = ActionSpec.ArgsParser.NONE;
+
+        // Cheap reads and fire-and-forget messages
+        actions.register(ActionSpec.builder("testReachability", none, a -> handleTestReachability()).build());
+        actions.register(ActionSpec.builder("getPlayers", none, a -> handleGetPlayers()).build());
+        actions.register(ActionSpec.builder("getPlayer", ActionArgs.PlayerLookup::parse, this::handleGetPlayer).build());
+        actions.register(ActionSpec.builder("getServerInfo", none, a -> handleGetServerInfo()).build());
+        actions.register(ActionSpec.builder("sendMessage", ActionArgs.SendMessage::parse, this::handleSendMessage).build());
+        actions.register(ActionSpec.builder("setPlayerNameColor", ActionArgs.SetNameColor::parse, this::handleSetPlayerNameColor).build());
+        actions.register(ActionSpec.builder("listItems", ActionArgs.ListItems::parse, this::handleListItems).build());
+        actions.register(ActionSpec.builder("listCommands", none, a -> handleListCommands()).build());
+        actions.register(ActionSpec.builder("getAvailableActions", none, a -> handleGetAvailableActions()).build());
+        actions.register(ActionSpec.builder("help", none, a -> buildHelpResponse()).build());
+        // Not implemented yet
+        actions.register(ActionSpec.builder("listBans", none, a -> new Object[0]).build(), "listEntities", "listLocations");
+
+        // Posted to the player's world thread, answered from the completion callback
+        actions.register(ActionSpec.builder("giveItem", ActionArgs.GiveItem::parse, this::handleGiveItem).worldThread().build());
+        actions.register(ActionSpec.builder("getPlayerLocation", ActionArgs.PlayerTarget::parse, this::handleGetPlayerLocation).worldThread().build());
+        actions.register(ActionSpec.builder("teleportPlayer", ActionArgs.TeleportPlayer::parse, this::handleTeleportPlayer).worldThread().build());
+        actions.register(ActionSpec.builder("teleportPlayerToPlayer", ActionArgs.TeleportToPlayer::parse, this::handleTeleportPlayerToPlayer)
+            .worldThread().timeout(15, TimeUnit.SECONDS).build());
+        actions.register(ActionSpec.builder("getPlayerInventory", ActionArgs.PlayerTarget::parse, this::handleGetPlayerInventory).worldThread().build());
+        actions.register(ActionSpec.builder("getPlayerBedLocation", ActionArgs.PlayerTarget::parse, this::handleGetPlayerBedLocation).worldThread().build(),
+            "getPlayerBeds");
+
+        // Slow or rare admin actions
+        actions.register(ActionSpec.builder("executeCommand", ActionArgs.ExecuteCommand::parse, this::handleExecuteCommand)
+            .concurrency(ActionSpec.ConcurrencyClass.ADMIN).timeout(EXECUTE_COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS).build(), "executeConsoleCommand");
+        actions.register(ActionSpec.builder("kickPlayer", ActionArgs.KickPlayer::parse, this::handleKickPlayer)
+            .concurrency(ActionSpec.ConcurrencyClass.ADMIN).build());
+        actions.register(ActionSpec.builder("banPlayer", ActionArgs.PlayerTarget::parse, this::handleBanPlayer)
+            .concurrency(ActionSpec.ConcurrencyClass.ADMIN).build());
+        actions.register(ActionSpec.builder("unbanPlayer", ActionArgs.PlayerTarget::parse, this::handleUnbanPlayer)
+            .concurrency(ActionSpec.ConcurrencyClass.ADMIN).build());
+        // Compiled in the background, answered once the new list is live
+        actions.register(ActionSpec.builder("setChatFilter", ActionArgs.SetChatFilter::parse, this::handleSetChatFilter)
+            .concurrency(ActionSpec.ConcurrencyClass.ADMIN).build());
+    }
+
+    /**
+     * Register shortcuts typed through executeCommand, keyed by their lowercase first word.
+     * Exact shortcuts only match the bare word; argument shortcuts need text after it.
+     */
+    private void registerConsoleShortcuts() {
+        ConsoleShortcut help = (command, rest) -> buildHelpResponse();
+        for (String word : new String[] { "help", "commands", "getavailableactions", "takarohelp", "takaro" }) {
+            exactShortcuts.put(word, help);
+        }
+        exactShortcuts.put("listcommands", (command, rest) -> buildListCommandsResponse());
+
+        // API action shortcuts typed as console commands
+        exactShortcuts.put("testreachability", (command, rest) -> handleTestReachability());
+        exactShortcuts.put("getplayers", (command, rest) -> handleGetPlayers());
+        exactShortcuts.put("getserverinfo", (command, rest) -> handleGetServerInfo());
+        exactShortcuts.put("listitems", (command, rest) -> {
+            ItemCatalog.Snapshot catalog = plugin.getItemCatalog().current();
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("rawResult", "Found " + (catalog != null ? catalog.size() : 0) + " items. Use Takaro UI to view item list.");
+            return result;
+        });
+
+        // sendMessage <message>
+        argShortcuts.put("sendmessage", (command, rest) -> handleSendMessage(new ActionArgs.SendMessage(rest.trim(), null)));
+
+        // getPlayerInventory <player>, getPlayerLocation <player>
+        argShortcuts.put("getplayerinventory", (command, rest) -> getPlayerInventoryByName(rest.trim()));
+        argShortcuts.put("getplayerlocation", (command, rest) -> getPlayerLocationByName(rest.trim()));
+
+        // kickPlayer <player> [reason]
+        argShortcuts.put("kickplayer", (command, rest) -> {
+            String[] parts = rest.split(" ", 2);
+            String reason = parts.length > 1 ? parts[1] : "Kicked by admin";
+            return kickPlayerByName(parts[0], reason);
+        });
+
+        // banPlayer <player>, unbanPlayer <player>
+        argShortcuts.put("banplayer", (command, rest) -> banPlayerByName(rest.trim()));
+        argShortcuts.put("unbanplayer", (command, rest) -> unbanPlayerByName(rest.trim()));
+
+        // Player locations
+        ConsoleShortcut locations = (command, rest) -> buildPlayerLocationsResponse();
+        for (String word : new String[] { "playerlocations", "locations", "whereis", "players" }) {
+            exactShortcuts.put(word, locations);
+        }
+
+        // beds/playerbeds <player>, setcolor/namecolor <player> <color>, give, tp, tpp
+        argShortcuts.put("beds", (command, rest) -> handleBedsConsoleCommand(command));
+        argShortcuts.put("playerbeds", (command, rest) -> handleBedsConsoleCommand(command));
+        argShortcuts.put("setcolor", (command, rest) -> handleSetColorConsoleCommand(command));
+        argShortcuts.put("namecolor", (command, rest) -> handleSetColorConsoleCommand(command));
+        argShortcuts.put("give", (command, rest) -> handleGiveConsoleCommand(command));
+        argShortcuts.put("teleportplayer", (command, rest) -> handleTeleportConsoleCommand(command));
+        argShortcuts.put("tp", (command, rest) -> handleTeleportConsoleCommand(command));
+        argShortcuts.put("teleportplayertoplayer", (command, rest) -> handleTeleportPlayerToPlayerConsoleCommand(command));
+        argShortcuts.put("tpp", (command, rest) -> handleTeleportPlayerToPlayerConsoleCommand(command));
+
+        // Shutdown/stop
+        ConsoleShortcut shutdown = (command, rest) -> {
+            // Schedule shutdown after a delay to allow response to be sent
+            new Thread(() -> {
+                try {
+                    Thread.sleep(1000); // Wait 1 second to send response
+                    HytaleServer.get().getCommandManager().handleCommand(ConsoleSender.INSTANCE, command).join();
+                } catch (Exception e) {
+                    plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error executing delayed shutdown: " + e.getMessage());
+                }
+            }).start();
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("rawResult", "Server shutdown initiated");
+            return result;
+        };
+        exactShortcuts.put("shutdown", shutdown);
+        exactShortcuts.put("stop", shutdown);
+    }
+
+    /**
+     * Dispatch a Takaro request. Called from the WebSocket read thread, so this must
+     * never block - the response is sent when the action completes.
+     */
+    public void handleRequest(dev.takaro.hytale.websocket.TakaroWebSocket sourceWebSocket, InboundMessage request) {
+        String requestId = request.getRequestId();
+        String action = request.getAction();
+        ActionSpec<?> spec = actions.get(action);
+        if (spec == null) {
+            plugin.getLogger().at(java.util.logging.Level.WARNING).log("Unknown action: " + action);
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Unknown action: " + action);
+            sourceWebSocket.sendResponse(requestId, error);
+            return;
+        }
+
+        // A retry of a request we've already seen gets the first delivery's response
+        CompletableFuture<Object> original = dedup.claim(dedupKey(sourceWebSocket, requestId));
+        if (original != null) {
+            plugin.getLogger().at(java.util.logging.Level.FINE).log("Duplicate request " + requestId + " (" + action + ") - "
+                + (original.isDone() ? "replaying response" : "waiting on the original"));
+            original.thenAccept(payload -> sourceWebSocket.sendResponse(requestId, payload));
+            return;
+        }
+
+        if (!actions.tryAcquire(spec)) {
+            spec.getStats().recordRejected();
+            plugin.getLogger().at(java.util.logging.Level.WARNING).log("Too many " + spec.getConcurrency() + " actions in flight, rejecting " + action + " (" + requestId + ")");
+            sendBusy(sourceWebSocket, requestId);
+            return;
+        }
+
+        // World-thread actions only validate and post to the world, so they can't stall this thread
+        if (spec.isWorldThread()) {
+            dispatch(sourceWebSocket, requestId, spec, request);
+            return;
+        }
+
+        try {
+            requestExecutor.execute(() -> dispatch(sourceWebSocket, requestId, spec, request));
+        } catch (RejectedExecutionException e) {
+            actions.release(spec);
+            spec.getStats().recordRejected();
+            plugin.getLogger().at(java.util.logging.Level.WARNING).log("Request queue full, rejecting " + action + " (" + requestId + ")");
+            sendBusy(sourceWebSocket, requestId);
+        }
+    }
+
+    private void sendBusy(dev.takaro.hytale.websocket.TakaroWebSocket sourceWebSocket, String requestId) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Server busy - request queue full");
+        // Not memoized - the action never ran, so a retry should be allowed to run it
+        dedup.release(dedupKey(sourceWebSocket, requestId), error);
+        sourceWebSocket.sendResponse(requestId, error);
+    }
+
+    /**
+     * requestIds are only unique per Takaro instance
+     */
+    private static String dedupKey(dev.takaro.hytale.websocket.TakaroWebSocket sourceWebSocket, String requestId) {
+        return sourceWebSocket.getEndpoint().getName() + ':' + requestId;
+    }
+
+    /**
+     * Stop accepting requests and interrupt any still running
+     */
+    public void shutdown() {
+        requestExecutor.shutdownNow();
+    }
+
+    public ActionRegistry getActionRegistry() {
+        return actions;
+    }
+
+    public RequestDedupCache getDedupCache() {
+        return dedup;
+    }
+
+    private void dispatch(dev.takaro.hytale.websocket.TakaroWebSocket sourceWebSocket, String requestId, ActionSpec<?> spec, InboundMessage request) {
+        long started = System.nanoTime();
         Object responsePayload;
 
         try {
-            switch (action) {
-                case "testReachability":
-                    responsePayload = handleTestReachability();
-                    break;
-                case "getPlayers":
-                    responsePayload = handleGetPlayers();
-                    break;
-                case "getPlayer":
-                    responsePayload = handleGetPlayer(payload);
-                    break;
-                case "getServerInfo":
-                    responsePayload = handleGetServerInfo();
-                    break;
-                case "sendMessage":
-                    responsePayload = handleSendMessage(payload);
-                    break;
-                case "setPlayerNameColor":
-                    responsePayload = handleSetPlayerNameColor(payload);
-                    break;
-                case "executeCommand":
-                case "executeConsoleCommand":
-                    responsePayload = handleExecuteCommand(payload);
-                    break;
-                case "giveItem":
-                    responsePayload = handleGiveItem(payload);
-                    break;
-                case "kickPlayer":
-                    responsePayload = handleKickPlayer(payload);
-                    break;
-                case "banPlayer":
-                    responsePayload = handleBanPlayer(payload);
-                    break;
-                case "unbanPlayer":
-                    responsePayload = handleUnbanPlayer(payload);
-                    break;
-                case "getPlayerLocation":
-                    responsePayload = handleGetPlayerLocation(payload);
-                    break;
-                case "teleportPlayer":
-                    responsePayload = handleTeleportPlayer(payload);
-                    break;
-                case "teleportPlayerToPlayer":
-                    responsePayload = handleTeleportPlayerToPlayer(payload);
-                    break;
-                case "listCommands":
-                    responsePayload = handleListCommands();
-                    break;
-                case "getAvailableActions":
-                    responsePayload = handleGetAvailableActions();
-                    break;
-                case "help":
-                    responsePayload = buildHelpResponse();
-                    break;
-                case "getPlayerInventory":
-                    responsePayload = handleGetPlayerInventory(payload);
-                    break;
-                case "listItems":
-                    responsePayload = handleListItems();
-                    break;
-                case "getPlayerBedLocation":
-                case "getPlayerBeds":
-                    responsePayload = handleGetPlayerBedLocation(payload);
-                    break;
-                case "listBans":
-                case "listEntities":
-                case "listLocations":
-                    // Not implemented yet
-                    responsePayload = new Object[0];
-                    break;
-                default:
-                    plugin.getLogger().at(java.util.logging.Level.WARNING).log("Unknown action: " + action);
-                    Map<String, String> error = new HashMap<>();
-                    error.put("error", "Unknown action: " + action);
-                    responsePayload = error;
-            }
+            responsePayload = spec.invoke(request);
         } catch (Exception e) {
-            plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error handling " + action + ": " + e.getMessage());
+            plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error handling " + spec.getName() + ": " + e.getMessage());
             e.printStackTrace();
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
-            responsePayload = error;
+            complete(sourceWebSocket, requestId, spec, started, error, true);
+            return;
+        }
+
+        // World-thread actions return a CompletionStage - respond when it completes
+        // instead of holding a thread while the world gets to it
+        if (responsePayload instanceof CompletionStage<?> pending) {
+            pending.toCompletableFuture()
+                .orTimeout(spec.getTimeoutMs(), TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error handling " + spec.getName() + ": " + WorldActions.describe(error));
+                        Map<String, String> failure = new HashMap<>();
+                        failure.put("error", WorldActions.describe(error));
+                        complete(sourceWebSocket, requestId, spec, started, failure, true);
+                    } else {
+                        complete(sourceWebSocket, requestId, spec, started, result, isErrorResult(result));
+                    }
+                });
+            return;
         }
 
+        complete(sourceWebSocket, requestId, spec, started, responsePayload, isErrorResult(responsePayload));
+    }
+
+    private void complete(dev.takaro.hytale.websocket.TakaroWebSocket sourceWebSocket, String requestId, ActionSpec<?> spec,
+                          long started, Object responsePayload, boolean failed) {
+        actions.release(spec);
+        spec.getStats().recordCompletion(System.nanoTime() - started, failed);
+        dedup.complete(dedupKey(sourceWebSocket, requestId), responsePayload);
+
         // Send response back to the WebSocket that sent the request
         sourceWebSocket.sendResponse(requestId, responsePayload);
     }
 
+    /**
+     * Handlers report most failures as a map with an error or success=false rather than throwing
+     */
+    private static boolean isErrorResult(Object result) {
+        if (result instanceof Map<?, ?> map) {
+            return map.get("error") != null || Boolean.FALSE.equals(map.get("success"));
+        }
+        return false;
+    }
+
     private Object handleTestReachability() {
         Map<String, Object> result = new HashMap<>();
         result.put("connectable", true);
@@ -150,32 +360,8 @@ private Object handleGetPlayers() {
                 return new Object[0];
             }
 
-            List<PlayerRef> players = universe.getPlayers();
-
-            List<Map<String, Object>> playerList = players.stream().map(player -> {
-                Map<String, Object> playerData = new HashMap<>();
-                String uuid = player.getUuid().toString();
-                playerData.put("name", player.getUsername());
-                playerData.put("gameId", uuid);
-                playerData.put("platformId", "hytale:" + uuid);
-
-                // Extract real IP from player connection
-                String ipAddress = "127.0.0.1";
-                try {
-                    io.netty.channel.Channel channel = player.getPacketHandler().getChannel();
-                    java.net.SocketAddress remoteAddress = com.hypixel.hytale.server.core.io.netty.NettyUtil.getRemoteSocketAddress(channel);
-                    if (remoteAddress instanceof java.net.InetSocketAddress) {
-                        ipAddress = ((java.net.InetSocketAddress) remoteAddress).getAddress().getHostAddress();
-                    }
-                } catch (Exception e) {
-                    // Keep default 127.0.0.1
-                }
-                playerData.put("ip", ipAddress);
-                return playerData;
-            }).collect(Collectors.toList());
-
-            plugin.getLogger().at(java.util.logging.Level.FINE).log("Found " + playerList.size() + " players");
-            return playerList;
+            // Descriptors (including IP) were captured at connect - just splice the cached JSON
+            return new RawJson(plugin.getPlayerDirectory().getPlayersJson());
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error getting players: " + e.getMessage());
             e.printStackTrace();
@@ -183,27 +369,10 @@ private Object handleGetPlayers() {
         }
     }
 
-    private Object handleGetPlayer(JsonObject payload) {
+    private Object handleGetPlayer(ActionArgs.PlayerLookup args) {
         try {
-            // Parse args to get player identifier
-            String gameId = null;
-            String playerName = null;
-
-            if (payload.has("args")) {
-                String argsString = payload.get("args").getAsString();
-                JsonObject args = gson.fromJson(argsString, JsonObject.class);
-                if (args.has("gameId")) {
-                    gameId = args.get("gameId").getAsString();
-                } else if (args.has("name")) {
-                    playerName = args.get("name").getAsString();
-                }
-            } else if (payload.has("gameId")) {
-                gameId = payload.get("gameId").getAsString();
-            } else if (payload.has("playerId")) {
-                gameId = payload.get("playerId").getAsString();
-            } else if (payload.has("name")) {
-                playerName = payload.get("name").getAsString();
-            }
+            String gameId = args.gameId();
+            String playerName = args.name();
 
             if (gameId == null && playerName == null) {
                 Map<String, Object> error = new HashMap<>();
@@ -223,18 +392,9 @@ private Object handleGetPlayer(JsonObject payload) {
             }
 
             // Find player by gameId or name
-            final String searchGameId = gameId;
-            final String searchName = playerName;
-            PlayerRef playerRef = universe.getPlayers().stream()
-                .filter(p -> {
-                    if (searchGameId != null) {
-                        return p.getUuid().toString().equals(searchGameId);
-                    } else {
-                        return p.getUsername().equalsIgnoreCase(searchName);
-                    }
-                })
-                .findFirst()
-                .orElse(null);
+            PlayerRef playerRef = gameId != null
+                ? plugin.getPlayerDirectory().get(gameId)
+                : plugin.getPlayerDirectory().getByName(playerName);
 
             if (playerRef == null) {
                 Map<String, Object> error = new HashMap<>();
@@ -243,27 +403,8 @@ private Object handleGetPlayer(JsonObject payload) {
                 return error;
             }
 
-            // Build player data
-            String uuid = playerRef.getUuid().toString();
-            Map<String, Object> playerData = new HashMap<>();
-            playerData.put("name", playerRef.getUsername());
-            playerData.put("gameId", uuid);
-            playerData.put("platformId", "hytale:" + uuid);
-
-            // Extract real IP from player connection
-            String ipAddress = "127.0.0.1";
-            try {
-                io.netty.channel.Channel channel = playerRef.getPacketHandler().getChannel();
-                java.net.SocketAddress remoteAddress = com.hypixel.hytale.server.core.io.netty.NettyUtil.getRemoteSocketAddress(channel);
-                if (remoteAddress instanceof java.net.InetSocketAddress) {
-                    ipAddress = ((java.net.InetSocketAddress) remoteAddress).getAddress().getHostAddress();
-                }
-            } catch (Exception e) {
-                // Keep default 127.0.0.1
-            }
-            playerData.put("ip", ipAddress);
-
-            return playerData;
+            // Player data (including IP) captured at connect
+            return new RawJson(plugin.getPlayerDirectory().getInfo(playerRef).toJson());
 
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error getting player: " + e.getMessage());
@@ -283,30 +424,11 @@ private Object handleGetServerInfo() {
         return info;
     }
 
-    private Object handleSendMessage(JsonObject payload) {
+    private Object handleSendMessage(ActionArgs.SendMessage args) {
         try {
-            // Parse args if it exists, otherwise try direct message field
-            String message;
-            String recipientGameId = null;
-
-            if (payload.has("args")) {
-                String argsString = payload.get("args").getAsString();
-                JsonObject args = gson.fromJson(argsString, JsonObject.class);
-                message = args.get("message").getAsString();
-
-                // Check for opts.recipient.gameId for private messages
-                if (args.has("opts")) {
-                    JsonObject opts = args.getAsJsonObject("opts");
-                    if (opts.has("recipient")) {
-                        JsonObject recipient = opts.getAsJsonObject("recipient");
-                        if (recipient.has("gameId")) {
-                            recipientGameId = recipient.get("gameId").getAsString();
-                        }
-                    }
-                }
-            } else {
-                message = payload.get("message").getAsString();
-            }
+            String message = args.message();
+            // Set for private messages (opts.recipient.gameId)
+            String recipientGameId = args.recipientGameId();
 
             com.hypixel.hytale.server.core.universe.Universe universe =
                 com.hypixel.hytale.server.core.universe.Universe.get();
@@ -325,11 +447,7 @@ private Object handleSendMessage(JsonObject payload) {
             if (recipientGameId != null) {
                 plugin.getLogger().at(java.util.logging.Level.FINE).log("Sending private message to player: " + recipientGameId);
 
-                final String targetGameId = recipientGameId;
-                PlayerRef targetPlayer = universe.getPlayers().stream()
-                    .filter(p -> p.getUuid().toString().equals(targetGameId))
-                    .findFirst()
-                    .orElse(null);
+                PlayerRef targetPlayer = plugin.getPlayerDirectory().get(recipientGameId);
 
                 if (targetPlayer == null) {
                     plugin.getLogger().at(java.util.logging.Level.WARNING).log("Target player not found: " + recipientGameId);
@@ -368,21 +486,34 @@ private Object handleSendMessage(JsonObject payload) {
         }
     }
 
-    private Object handleSetPlayerNameColor(JsonObject payload) {
-        try {
-            // Parse args: {"uuid": "player-uuid", "color": "gold"}
-            String argsString = payload.get("args").getAsString();
-            JsonObject args = gson.fromJson(argsString, JsonObject.class);
+    private Object handleSetChatFilter(ActionArgs.SetChatFilter args) {
+        ChatFilter filter = plugin.getChatFilter();
+        return filter.update(args.words(), args.mode(), args.wholeWords()).thenApply(wordCount -> {
+            plugin.getLogger().at(java.util.logging.Level.INFO).log("Chat filter updated: " + wordCount + " words, mode " + filter.getMode());
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("words", wordCount);
+            result.put("mode", filter.getMode().name().toLowerCase(Locale.ROOT));
+            return result;
+        });
+    }
 
-            String uuid = args.get("uuid").getAsString();
-            String color = args.has("color") ? args.get("color").getAsString() : null;
+    private Object handleSetPlayerNameColor(ActionArgs.SetNameColor args) {
+        try {
+            String uuid = args.uuid();
+            String color = args.color();
 
             plugin.getLogger().at(java.util.logging.Level.INFO).log(
                 "Setting name color for player " + uuid + ": " + color
             );
 
             // Update the cache
-            plugin.setPlayerNameColor(uuid, color);
+            if (!plugin.setPlayerNameColor(uuid, color)) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("success", false);
+                error.put("error", "Invalid player UUID or unknown color: " + color);
+                return error;
+            }
 
             Map<String, Boolean> result = new HashMap<>();
             result.put("success", true);
@@ -396,160 +527,47 @@ private Object handleSetPlayerNameColor(JsonObject payload) {
         }
     }
 
-    private Object handleExecuteCommand(JsonObject payload) {
+    private Object handleExecuteCommand(ActionArgs.ExecuteCommand args) {
         try {
-            // The payload structure is: {"args": "{\"command\":\"help\"}"}
-            // We need to parse the args string as JSON
-            String argsString = payload.get("args").getAsString();
-            JsonObject args = gson.fromJson(argsString, JsonObject.class);
-            String command = args.get("command").getAsString().trim();
+            String command = args.command();
 
             plugin.getLogger().at(java.util.logging.Level.INFO).log("Executing console command: '" + command + "'");
 
-            // Check if it's a request for help/documentation
-            if (command.equalsIgnoreCase("help") ||
-                command.equalsIgnoreCase("commands") ||
-                command.equalsIgnoreCase("getavailableactions") ||
-                command.equalsIgnoreCase("takarohelp") ||
-                command.equalsIgnoreCase("takaro")) {
-                return buildHelpResponse();
-            }
-
-            // Check if it's a request to list Hytale commands
-            if (command.equalsIgnoreCase("listcommands")) {
-                return buildListCommandsResponse();
-            }
-
-            // Check for API action shortcuts typed as console commands
-            if (command.equalsIgnoreCase("testReachability")) {
-                return handleTestReachability();
-            }
-            if (command.equalsIgnoreCase("getPlayers")) {
-                return handleGetPlayers();
-            }
-            if (command.equalsIgnoreCase("getServerInfo")) {
-                return handleGetServerInfo();
-            }
-            if (command.equalsIgnoreCase("listItems")) {
-                List<Map<String, Object>> items = (List<Map<String, Object>>) handleListItems();
-                Map<String, Object> result = new HashMap<>();
-                result.put("success", true);
-                result.put("rawResult", "Found " + items.size() + " items. Use Takaro UI to view item list.");
-                return result;
-            }
-
-            // sendMessage <message>
-            if (command.toLowerCase().startsWith("sendmessage ")) {
-                String message = command.substring("sendmessage ".length()).trim();
-                JsonObject msgPayload = new JsonObject();
-                JsonObject msgArgs = new JsonObject();
-                msgArgs.addProperty("message", message);
-                msgPayload.addProperty("args", gson.toJson(msgArgs));
-                return handleSendMessage(msgPayload);
-            }
-
-            // getPlayerInventory <player>
-            if (command.toLowerCase().startsWith("getplayerinventory ")) {
-                String playerName = command.substring("getplayerinventory ".length()).trim();
-                return getPlayerInventoryByName(playerName);
-            }
-
-            // getPlayerLocation <player>
-            if (command.toLowerCase().startsWith("getplayerlocation ")) {
-                String playerName = command.substring("getplayerlocation ".length()).trim();
-                return getPlayerLocationByName(playerName);
-            }
-
-            // kickPlayer <player> [reason]
-            if (command.toLowerCase().startsWith("kickplayer ")) {
-                String[] parts = command.substring("kickplayer ".length()).split(" ", 2);
-                String playerName = parts[0];
-                String reason = parts.length > 1 ? parts[1] : "Kicked by admin";
-                return kickPlayerByName(playerName, reason);
-            }
-
-            // banPlayer <player>
-            if (command.toLowerCase().startsWith("banplayer ")) {
-                String playerName = command.substring("banplayer ".length()).trim();
-                return banPlayerByName(playerName);
-            }
-
-            // unbanPlayer <player>
-            if (command.toLowerCase().startsWith("unbanplayer ")) {
-                String playerName = command.substring("unbanplayer ".length()).trim();
-                return unbanPlayerByName(playerName);
-            }
-
-            // Check if it's a request for player locations
-            if (command.equalsIgnoreCase("playerlocations") ||
-                command.equalsIgnoreCase("locations") ||
-                command.equalsIgnoreCase("whereis") ||
-                command.equalsIgnoreCase("players")) {
-                return buildPlayerLocationsResponse();
-            }
-
-            // Check if it's a request for player bed locations
-            if (command.toLowerCase().startsWith("beds ") ||
-                command.toLowerCase().startsWith("playerbeds ")) {
-                return handleBedsConsoleCommand(command);
-            }
-
-            // Check if it's a setcolor command
-            if (command.toLowerCase().startsWith("setcolor ") ||
-                command.toLowerCase().startsWith("namecolor ")) {
-                return handleSetColorConsoleCommand(command);
-            }
-
-            // Check if it's a give command
-            if (command.toLowerCase().startsWith("give ")) {
-                plugin.getLogger().at(java.util.logging.Level.INFO).log("Matched give command, calling handler");
-                return handleGiveConsoleCommand(command);
-            }
-
-            // Check if it's a teleport command
-            if (command.toLowerCase().startsWith("teleportplayer ") ||
-                command.toLowerCase().startsWith("tp ")) {
-                return handleTeleportConsoleCommand(command);
-            }
-
-            // Check if it's a teleport player to player command
-            if (command.toLowerCase().startsWith("teleportplayertoplayer ") ||
-                command.toLowerCase().startsWith("tpp ")) {
-                return handleTeleportPlayerToPlayerConsoleCommand(command);
-            }
-
-            // Check if it's a shutdown/stop command
-            if (command.equalsIgnoreCase("shutdown") ||
-                command.equalsIgnoreCase("stop")) {
-                // Schedule shutdown after a delay to allow response to be sent
-                new Thread(() -> {
-                    try {
-                        Thread.sleep(1000); // Wait 1 second to send response
-                        HytaleServer.get().getCommandManager().handleCommand(ConsoleSender.INSTANCE, command).join();
-                    } catch (Exception e) {
-                        plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error executing delayed shutdown: " + e.getMessage());
-                    }
-                }).start();
-
-                Map<String, Object> result = new HashMap<>();
-                result.put("success", true);
-                result.put("rawResult", "Server shutdown initiated");
-                return result;
+            // Shortcuts for API actions and helpers, looked up by first word
+            int space = command.indexOf(' ');
+            String word = (space < 0 ? command : command.substring(0, space)).toLowerCase(Locale.ROOT);
+            ConsoleShortcut shortcut = space < 0 ? exactShortcuts.get(word) : argShortcuts.get(word);
+            if (shortcut != null) {
+                return shortcut.run(command, space < 0 ? "" : command.substring(space + 1));
             }
 
             // Subscribe to logger to capture all console output
+            // Serialized so concurrent commands don't capture each other's output
+            // Lock wait and command share one deadline, so a hung command frees the lock and the ADMIN permit
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(EXECUTE_COMMAND_TIMEOUT_SECONDS);
             CopyOnWriteArrayList<LogRecord> logCapture = new CopyOnWriteArrayList<>();
-            HytaleLoggerBackend.subscribe(logCapture);
-
+            if (!consoleCaptureLock.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return commandTimedOut(command, "waiting for another console command");
+            }
             try {
-                // Execute command
-                HytaleServer.get().getCommandManager().handleCommand(ConsoleSender.INSTANCE, command).join();
+                HytaleLoggerBackend.subscribe(logCapture);
+                try {
+                    // Execute command
+                    try {
+                        HytaleServer.get().getCommandManager().handleCommand(ConsoleSender.INSTANCE, command)
+                            .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    } catch (TimeoutException e) {
+                        return commandTimedOut(command, "running");
+                    }
 
-                // Give async messages time to arrive
-                Thread.sleep(500);
+                    // Give async messages time to arrive
+                    Thread.sleep(500);
+                } finally {
+                    // Always unsubscribe
+                    HytaleLoggerBackend.unsubscribe(logCapture);
+                }
             } finally {
-                // Always unsubscribe
-                HytaleLoggerBackend.unsubscribe(logCapture);
+                consoleCaptureLock.unlock();
             }
 
             // Extract messages from captured logs
@@ -586,30 +604,26 @@ private Object handleExecuteCommand(JsonObject payload) {
         }
     }
 
-    private Object handleGiveItem(JsonObject payload) {
+    private Map<String, Object> commandTimedOut(String command, String stage) {
+        plugin.getLogger().at(java.util.logging.Level.WARNING).log("Console command timed out " + stage + ": " + command);
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", false);
+        result.put("rawResult", "Error: Command timed out after " + EXECUTE_COMMAND_TIMEOUT_SECONDS + "s");
+        return result;
+    }
+
+    private Object handleGiveItem(ActionArgs.GiveItem args) {
         try {
-            String argsString = payload.get("args").getAsString();
-            JsonObject args = gson.fromJson(argsString, JsonObject.class);
-
-            // Try to get gameId from args first, then fall back to top-level payload
-            String gameId;
-            if (args.has("gameId")) {
-                gameId = args.get("gameId").getAsString();
-            } else if (args.has("player") && args.get("player").isJsonObject() && args.getAsJsonObject("player").has("gameId")) {
-                gameId = args.getAsJsonObject("player").get("gameId").getAsString();
-            } else if (payload.has("playerId")) {
-                gameId = payload.get("playerId").getAsString();
-            } else if (payload.has("gameId")) {
-                gameId = payload.get("gameId").getAsString();
-            } else {
+            String gameId = args.gameId();
+            if (gameId == null) {
                 Map<String, Object> result = new HashMap<>();
                 result.put("success", false);
                 result.put("error", "No gameId or playerId provided");
                 return result;
             }
 
-            String itemId = args.get("item").getAsString();
-            int amount = args.has("amount") ? args.get("amount").getAsInt() : 1;
+            String itemId = args.item();
+            int amount = args.amount();
 
             plugin.getLogger().at(java.util.logging.Level.INFO).log("Giving item " + itemId + " x" + amount + " to player " + gameId);
 
@@ -624,21 +638,7 @@ private Object handleGiveItem(JsonObject payload) {
             }
 
             // Support both UUID and player name
-            PlayerRef playerRef;
-            try {
-                UUID playerUuid = UUID.fromString(gameId);
-                playerRef = universe.getPlayers().stream()
-                    .filter(p -> p.getUuid().equals(playerUuid))
-                    .findFirst()
-                    .orElse(null);
-            } catch (IllegalArgumentException e) {
-                // Not a UUID, try as player name
-                final String playerName = gameId;
-                playerRef = universe.getPlayers().stream()
-                    .filter(p -> p.getUsername().equalsIgnoreCase(playerName))
-                    .findFirst()
-                    .orElse(null);
-            }
+            PlayerRef playerRef = plugin.getPlayerDirectory().find(gameId);
 
             if (playerRef == null) {
                 Map<String, Object> result = new HashMap<>();
@@ -658,42 +658,36 @@ private Object handleGiveItem(JsonObject payload) {
             Store<EntityStore> store = ref.getStore();
             World world = store.getExternalData().getWorld();
 
-            CompletableFuture<Boolean> future = new CompletableFuture<>();
-
-            world.execute(() -> {
-                try {
-                    Player playerComponent = store.getComponent(ref, Player.getComponentType());
-                    if (playerComponent == null) {
-                        future.complete(false);
-                        return;
-                    }
+            return WorldActions.supply(world, () -> {
+                Player playerComponent = store.getComponent(ref, Player.getComponentType());
+                if (playerComponent == null) {
+                    return false;
+                }
 
-                    Item item = Item.getAssetMap().getAsset(itemId);
-                    if (item == null) {
-                        plugin.getLogger().at(java.util.logging.Level.WARNING).log("Item not found: " + itemId);
-                        future.complete(false);
-                        return;
-                    }
+                Item item = Item.getAssetMap().getAsset(itemId);
+                if (item == null) {
+                    plugin.getLogger().at(java.util.logging.Level.WARNING).log("Item not found: " + itemId);
+                    return false;
+                }
 
-                    ItemStackTransaction transaction = playerComponent.getInventory()
-                        .getCombinedHotbarFirst()
-                        .addItemStack(new ItemStack(item.getId(), amount, null));
+                ItemStackTransaction transaction = playerComponent.getInventory()
+                    .getCombinedHotbarFirst()
+                    .addItemStack(new ItemStack(item.getId(), amount, null));
 
-                    ItemStack remainder = transaction.getRemainder();
-                    future.complete(remainder == null || remainder.isEmpty());
-                } catch (Exception e) {
-                    plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error giving item: " + e.getMessage());
-                    e.printStackTrace();
-                    future.complete(false);
+                ItemStack remainder = transaction.getRemainder();
+                return remainder == null || remainder.isEmpty();
+            }).handle((success, error) -> {
+                Map<String, Object> result = new HashMap<>();
+                if (error != null) {
+                    plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error giving item: " + WorldActions.describe(error));
+                    result.put("success", false);
+                    result.put("error", WorldActions.describe(error));
+                    return result;
                 }
+                result.put("success", success);
+                plugin.getLogger().at(java.util.logging.Level.INFO).log("Give item result: " + success);
+                return result;
             });
-
-            boolean success = future.get(5, TimeUnit.SECONDS);
-
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", success);
-            plugin.getLogger().at(java.util.logging.Level.INFO).log("Give item result: " + success);
-            return result;
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error handling giveItem: " + e.getMessage());
             e.printStackTrace();
@@ -704,29 +698,17 @@ private Object handleGiveItem(JsonObject payload) {
         }
     }
 
-    private Object handleKickPlayer(JsonObject payload) {
+    private Object handleKickPlayer(ActionArgs.KickPlayer args) {
         try {
-            String argsString = payload.get("args").getAsString();
-            JsonObject args = gson.fromJson(argsString, JsonObject.class);
-
-            // Try to get gameId from args first, then fall back to top-level payload
-            String gameId;
-            if (args.has("gameId")) {
-                gameId = args.get("gameId").getAsString();
-            } else if (args.has("player") && args.get("player").isJsonObject() && args.getAsJsonObject("player").has("gameId")) {
-                gameId = args.getAsJsonObject("player").get("gameId").getAsString();
-            } else if (payload.has("playerId")) {
-                gameId = payload.get("playerId").getAsString();
-            } else if (payload.has("gameId")) {
-                gameId = payload.get("gameId").getAsString();
-            } else {
+            String gameId = args.gameId();
+            if (gameId == null) {
                 Map<String, Object> result = new HashMap<>();
                 result.put("success", false);
                 result.put("error", "No gameId or playerId provided");
                 return result;
             }
 
-            String reason = args.has("reason") ? args.get("reason").getAsString() : "You were kicked.";
+            String reason = args.reason();
 
             plugin.getLogger().at(java.util.logging.Level.INFO).log("Kicking player: " + gameId);
 
@@ -741,10 +723,7 @@ private Object handleKickPlayer(JsonObject payload) {
             }
 
             UUID playerUuid = UUID.fromString(gameId);
-            PlayerRef playerRef = universe.getPlayers().stream()
-                .filter(p -> p.getUuid().equals(playerUuid))
-                .findFirst()
-                .orElse(null);
+            PlayerRef playerRef = plugin.getPlayerDirectory().get(playerUuid);
 
             if (playerRef == null) {
                 Map<String, Object> result = new HashMap<>();
@@ -769,36 +748,26 @@ private Object handleKickPlayer(JsonObject payload) {
         }
     }
 
-    private Object handleBanPlayer(JsonObject payload) {
+    private Object handleBanPlayer(ActionArgs.PlayerTarget args) {
         // TODO: Implement player ban
-        plugin.getLogger().at(java.util.logging.Level.INFO).log("Banning player: " + payload.toString());
+        plugin.getLogger().at(java.util.logging.Level.INFO).log("Banning player: " + args.gameId());
         Map<String, Boolean> result = new HashMap<>();
         result.put("success", true);
         return result;
     }
 
-    private Object handleUnbanPlayer(JsonObject payload) {
+    private Object handleUnbanPlayer(ActionArgs.PlayerTarget args) {
         // TODO: Implement player unban
-        plugin.getLogger().at(java.util.logging.Level.INFO).log("Unbanning player: " + payload.toString());
+        plugin.getLogger().at(java.util.logging.Level.INFO).log("Unbanning player: " + args.gameId());
         Map<String, Boolean> result = new HashMap<>();
         result.put("success", true);
         return result;
     }
 
-    private Object handleGetPlayerLocation(JsonObject payload) {
+    private Object handleGetPlayerLocation(ActionArgs.PlayerTarget args) {
         try {
-            String argsString = payload.get("args").getAsString();
-            JsonObject args = gson.fromJson(argsString, JsonObject.class);
-
-            // Try to get gameId from args first, then fall back to top-level payload
-            String gameId;
-            if (args.has("gameId")) {
-                gameId = args.get("gameId").getAsString();
-            } else if (payload.has("playerId")) {
-                gameId = payload.get("playerId").getAsString();
-            } else if (payload.has("gameId")) {
-                gameId = payload.get("gameId").getAsString();
-            } else {
+            String gameId = args.gameId();
+            if (gameId == null) {
                 Map<String, Object> result = new HashMap<>();
                 result.put("x", 0);
                 result.put("y", 0);
@@ -820,10 +789,7 @@ private Object handleGetPlayerLocation(JsonObject payload) {
             }
 
             UUID playerUuid = UUID.fromString(gameId);
-            PlayerRef playerRef = universe.getPlayers().stream()
-                .filter(p -> p.getUuid().equals(playerUuid))
-                .findFirst()
-                .orElse(null);
+            PlayerRef playerRef = plugin.getPlayerDirectory().get(playerUuid);
 
             if (playerRef == null) {
                 Map<String, Object> result = new HashMap<>();
@@ -845,40 +811,30 @@ private Object handleGetPlayerLocation(JsonObject payload) {
             Store<EntityStore> store = ref.getStore();
             World world = store.getExternalData().getWorld();
 
-            CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
-
-            world.execute(() -> {
-                try {
-                    TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
-                    if (transform == null) {
-                        Map<String, Object> result = new HashMap<>();
-                        result.put("x", 0);
-                        result.put("y", 0);
-                        result.put("z", 0);
-                        future.complete(result);
-                        return;
-                    }
-
-                    Vector3d position = transform.getPosition();
-                    Map<String, Object> result = new HashMap<>();
-                    result.put("x", position.getX());
-                    result.put("y", position.getY());
-                    result.put("z", position.getZ());
-                    future.complete(result);
-                } catch (Exception e) {
-                    plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error getting position: " + e.getMessage());
-                    e.printStackTrace();
-                    Map<String, Object> result = new HashMap<>();
+            return WorldActions.supply(world, () -> {
+                TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
+                Map<String, Object> result = new HashMap<>();
+                if (transform == null) {
                     result.put("x", 0);
                     result.put("y", 0);
                     result.put("z", 0);
-                    future.complete(result);
+                    return result;
                 }
-            });
 
-            Map<String, Object> result = future.get(5, TimeUnit.SECONDS);
-            plugin.getLogger().at(java.util.logging.Level.FINE).log("Player location: " + result.get("x") + "," + result.get("y") + "," + result.get("z"));
-            return result;
+                Vector3d position = transform.getPosition();
+                result.put("x", position.getX());
+                result.put("y", position.getY());
+                result.put("z", position.getZ());
+                plugin.getLogger().at(java.util.logging.Level.FINE).log("Player location: " + result.get("x") + "," + result.get("y") + "," + result.get("z"));
+                return result;
+            }).exceptionally(error -> {
+                plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error getting position: " + WorldActions.describe(error));
+                Map<String, Object> result = new HashMap<>();
+                result.put("x", 0);
+                result.put("y", 0);
+                result.put("z", 0);
+                return result;
+            });
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error handling getPlayerLocation: " + e.getMessage());
             e.printStackTrace();
@@ -890,33 +846,18 @@ private Object handleGetPlayerLocation(JsonObject payload) {
         }
     }
 
-    private Object handleTeleportPlayerToPlayer(JsonObject payload) {
+    private Object handleTeleportPlayerToPlayer(ActionArgs.TeleportToPlayer args) {
         try {
-            String argsString = payload.get("args").getAsString();
-            JsonObject args = gson.fromJson(argsString, JsonObject.class);
-
-            // Try to get gameId from args first, then fall back to top-level payload
-            String sourceGameId;
-            if (args.has("gameId")) {
-                sourceGameId = args.get("gameId").getAsString();
-            } else if (payload.has("playerId")) {
-                sourceGameId = payload.get("playerId").getAsString();
-            } else if (payload.has("gameId")) {
-                sourceGameId = payload.get("gameId").getAsString();
-            } else {
+            String sourceGameId = args.gameId();
+            if (sourceGameId == null) {
                 Map<String, Object> result = new HashMap<>();
                 result.put("success", false);
                 result.put("error", "No gameId or playerId provided for source player");
                 return result;
             }
 
-            // Get target gameId from args
-            String targetGameId;
-            if (args.has("targetGameId")) {
-                targetGameId = args.get("targetGameId").getAsString();
-            } else if (args.has("targetPlayerId")) {
-                targetGameId = args.get("targetPlayerId").getAsString();
-            } else {
+            String targetGameId = args.targetGameId();
+            if (targetGameId == null) {
                 Map<String, Object> result = new HashMap<>();
                 result.put("success", false);
                 result.put("error", "No targetGameId or targetPlayerId provided");
@@ -938,15 +879,9 @@ private Object handleTeleportPlayerToPlayer(JsonObject payload) {
             UUID sourceUuid = UUID.fromString(sourceGameId);
             UUID targetUuid = UUID.fromString(targetGameId);
 
-            PlayerRef sourcePlayer = universe.getPlayers().stream()
-                .filter(p -> p.getUuid().equals(sourceUuid))
-                .findFirst()
-                .orElse(null);
+            PlayerRef sourcePlayer = plugin.getPlayerDirectory().get(sourceUuid);
 
-            PlayerRef targetPlayer = universe.getPlayers().stream()
-                .filter(p -> p.getUuid().equals(targetUuid))
-                .findFirst()
-                .orElse(null);
+            PlayerRef targetPlayer = plugin.getPlayerDirectory().get(targetUuid);
 
             if (sourcePlayer == null) {
                 Map<String, Object> result = new HashMap<>();
@@ -982,61 +917,36 @@ private Object handleTeleportPlayerToPlayer(JsonObject payload) {
             Store<EntityStore> targetStore = targetRef.getStore();
             World targetWorld = targetStore.getExternalData().getWorld();
 
-            // Get target player's position
-            CompletableFuture<Vector3d> positionFuture = new CompletableFuture<>();
+            Store<EntityStore> sourceStore = sourceRef.getStore();
+            World sourceWorld = sourceStore.getExternalData().getWorld();
 
-            targetWorld.execute(() -> {
-                try {
-                    TransformComponent targetTransform = targetStore.getComponent(targetRef, TransformComponent.getComponentType());
-                    if (targetTransform == null) {
-                        positionFuture.completeExceptionally(new Exception("Target transform not found"));
-                        return;
-                    }
-                    positionFuture.complete(new Vector3d(targetTransform.getPosition()));
-                } catch (Throwable e) {
-                    plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error getting target position: " + e.getClass().getName() + ": " + e.getMessage());
-                    e.printStackTrace();
-                    positionFuture.completeExceptionally(e);
+            // Read target player's position, then teleport source player to it
+            CompletableFuture<Vector3d> positionFuture = WorldActions.supply(targetWorld, () -> {
+                TransformComponent targetTransform = targetStore.getComponent(targetRef, TransformComponent.getComponentType());
+                if (targetTransform == null) {
+                    throw new IllegalStateException("Target transform not found");
                 }
+                return new Vector3d(targetTransform.getPosition());
             });
 
-            Vector3d targetPosition;
-            try {
-                targetPosition = positionFuture.get(5, TimeUnit.SECONDS);
-            } catch (Exception e) {
-                plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Failed to get target position: " + e.getClass().getName() + ": " + e.getMessage());
-                e.printStackTrace();
+            return positionFuture.thenCompose(targetPosition -> WorldActions.supply(sourceWorld, () -> {
+                Vector3f rotation = new Vector3f(0, 0, 0);
+                Teleport teleport = new Teleport(targetWorld, targetPosition, rotation);
+                sourceStore.addComponent(sourceRef, Teleport.getComponentType(), teleport);
+                return true;
+            })).handle((success, error) -> {
                 Map<String, Object> result = new HashMap<>();
-                result.put("success", false);
-                result.put("rawResult", "Error getting target position: " + e.getMessage());
-                return result;
-            }
-
-            // Now teleport source player to target position
-            Store<EntityStore> sourceStore = sourceRef.getStore();
-            World sourceWorld = sourceStore.getExternalData().getWorld();
-
-            CompletableFuture<Boolean> teleportFuture = new CompletableFuture<>();
-
-            sourceWorld.execute(() -> {
-                try {
-                    Vector3f rotation = new Vector3f(0, 0, 0);
-                    Teleport teleport = new Teleport(targetWorld, targetPosition, rotation);
-                    sourceStore.addComponent(sourceRef, Teleport.getComponentType(), teleport);
-                    teleportFuture.complete(true);
-                } catch (Exception e) {
-                    plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error teleporting: " + e.getMessage());
-                    e.printStackTrace();
-                    teleportFuture.complete(false);
+                if (error != null) {
+                    String stage = positionFuture.isCompletedExceptionally() ? "Error getting target position: " : "Error teleporting: ";
+                    plugin.getLogger().at(java.util.logging.Level.SEVERE).log(stage + WorldActions.describe(error));
+                    result.put("success", false);
+                    result.put("error", stage + WorldActions.describe(error));
+                    return result;
                 }
+                result.put("success", success);
+                plugin.getLogger().at(java.util.logging.Level.INFO).log("Teleport to player result: " + success);
+                return result;
             });
-
-            boolean success = teleportFuture.get(5, TimeUnit.SECONDS);
-
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", success);
-            plugin.getLogger().at(java.util.logging.Level.INFO).log("Teleport to player result: " + success);
-            return result;
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error handling teleportPlayerToPlayer: " + e.getMessage());
             e.printStackTrace();
@@ -1047,31 +957,19 @@ private Object handleTeleportPlayerToPlayer(JsonObject payload) {
         }
     }
 
-    private Object handleTeleportPlayer(JsonObject payload) {
+    private Object handleTeleportPlayer(ActionArgs.TeleportPlayer args) {
         try {
-            String argsString = payload.get("args").getAsString();
-            JsonObject args = gson.fromJson(argsString, JsonObject.class);
-
-            // Try to get gameId from args first, then fall back to top-level payload
-            String gameId;
-            if (args.has("gameId")) {
-                gameId = args.get("gameId").getAsString();
-            } else if (args.has("player") && args.get("player").isJsonObject() && args.getAsJsonObject("player").has("gameId")) {
-                gameId = args.getAsJsonObject("player").get("gameId").getAsString();
-            } else if (payload.has("playerId")) {
-                gameId = payload.get("playerId").getAsString();
-            } else if (payload.has("gameId")) {
-                gameId = payload.get("gameId").getAsString();
-            } else {
+            String gameId = args.gameId();
+            if (gameId == null) {
                 Map<String, Object> result = new HashMap<>();
                 result.put("success", false);
                 result.put("error", "No gameId or playerId provided");
                 return result;
             }
 
-            double x = args.get("x").getAsDouble();
-            double y = args.get("y").getAsDouble();
-            double z = args.get("z").getAsDouble();
+            double x = args.x();
+            double y = args.y();
+            double z = args.z();
 
             plugin.getLogger().at(java.util.logging.Level.INFO).log("Teleporting player " + gameId + " to " + x + "," + y + "," + z);
 
@@ -1086,10 +984,7 @@ private Object handleTeleportPlayer(JsonObject payload) {
             }
 
             UUID playerUuid = UUID.fromString(gameId);
-            PlayerRef playerRef = universe.getPlayers().stream()
-                .filter(p -> p.getUuid().equals(playerUuid))
-                .findFirst()
-                .orElse(null);
+            PlayerRef playerRef = plugin.getPlayerDirectory().get(playerUuid);
 
             if (playerRef == null) {
                 Map<String, Object> result = new HashMap<>();
@@ -1109,28 +1004,24 @@ private Object handleTeleportPlayer(JsonObject payload) {
             Store<EntityStore> store = ref.getStore();
             World world = store.getExternalData().getWorld();
 
-            CompletableFuture<Boolean> future = new CompletableFuture<>();
-
-            world.execute(() -> {
-                try {
-                    Vector3d position = new Vector3d(x, y, z);
-                    Vector3f rotation = new Vector3f(0, 0, 0);
-                    Teleport teleport = new Teleport(world, position, rotation);
-                    store.addComponent(ref, Teleport.getComponentType(), teleport);
-                    future.complete(true);
-                } catch (Exception e) {
-                    plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error teleporting: " + e.getMessage());
-                    e.printStackTrace();
-                    future.complete(false);
+            return WorldActions.supply(world, () -> {
+                Vector3d position = new Vector3d(x, y, z);
+                Vector3f rotation = new Vector3f(0, 0, 0);
+                Teleport teleport = new Teleport(world, position, rotation);
+                store.addComponent(ref, Teleport.getComponentType(), teleport);
+                return true;
+            }).handle((success, error) -> {
+                Map<String, Object> result = new HashMap<>();
+                if (error != null) {
+                    plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error teleporting: " + WorldActions.describe(error));
+                    result.put("success", false);
+                    result.put("error", WorldActions.describe(error));
+                    return result;
                 }
+                result.put("success", success);
+                plugin.getLogger().at(java.util.logging.Level.INFO).log("Teleport result: " + success);
+                return result;
             });
-
-            boolean success = future.get(5, TimeUnit.SECONDS);
-
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", success);
-            plugin.getLogger().at(java.util.logging.Level.INFO).log("Teleport result: " + success);
-            return result;
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error handling teleportPlayer: " + e.getMessage());
             e.printStackTrace();
@@ -1217,36 +1108,17 @@ private Map<String, Object> buildListCommandsResponse() {
         }
     }
 
-    private Object handleGetPlayerInventory(JsonObject payload) {
+    private Object handleGetPlayerInventory(ActionArgs.PlayerTarget args) {
         try {
-            String argsString = payload.get("args").getAsString();
-            JsonObject args = gson.fromJson(argsString, JsonObject.class);
-
-            // Try to get gameId from args first, then fall back to top-level payload
-            String gameId;
-            if (args.has("gameId")) {
-                gameId = args.get("gameId").getAsString();
-            } else if (payload.has("playerId")) {
-                gameId = payload.get("playerId").getAsString();
-            } else if (payload.has("gameId")) {
-                gameId = payload.get("gameId").getAsString();
-            } else {
+            String gameId = args.gameId();
+            if (gameId == null) {
                 plugin.getLogger().at(java.util.logging.Level.WARNING).log("No gameId or playerId provided");
                 return new Object[0];
             }
 
             plugin.getLogger().at(java.util.logging.Level.FINE).log("Getting player inventory for gameId: " + gameId);
 
-        com.hypixel.hytale.server.core.universe.Universe universe =
-                com.hypixel.hytale.server.core.universe.Universe.get();
-
-        PlayerRef playerRef = null;
-        for (PlayerRef ref : universe.getPlayers()) {
-            if (ref.getUuid().toString().equals(gameId)) {
-                playerRef = ref;
-                break;
-            }
-        }
+        PlayerRef playerRef = plugin.getPlayerDirectory().get(gameId);
 
         if (playerRef == null) {
             plugin.getLogger().at(java.util.logging.Level.WARNING).log("Player not found: " + gameId);
@@ -1263,16 +1135,12 @@ private Object handleGetPlayerInventory(JsonObject payload) {
         World world = store.getExternalData().getWorld();
 
         // Access player inventory on the world thread
-        List<Map<String, Object>> inventoryItems = new ArrayList<>();
-        CompletableFuture<Void> future = new CompletableFuture<>();
-
-        world.execute(() -> {
-            try {
+        return WorldActions.supply(world, () -> {
+                List<Map<String, Object>> inventoryItems = new ArrayList<>();
                 Player player = store.getComponent(ref, Player.getComponentType());
                 if (player == null) {
                     plugin.getLogger().at(java.util.logging.Level.WARNING).log("Player component not found: " + gameId);
-                    future.complete(null);
-                    return;
+                    return inventoryItems.toArray(new Object[0]);
                 }
 
                 // Get combined inventory (hotbar, storage, armor, utility, backpack)
@@ -1292,22 +1160,8 @@ private Object handleGetPlayerInventory(JsonObject payload) {
                     String itemId = itemStack.getItemId();
                     int quantity = itemStack.getQuantity();
 
-                    // Get friendly name for the item
-                    String friendlyName = itemId;
-                    try {
-                        Item item = Item.getAssetMap().getAssetMap().get(itemId);
-                        if (item != null) {
-                            String translationKey = item.getTranslationKey();
-                            if (translationKey != null) {
-                                String i18n = com.hypixel.hytale.server.core.modules.i18n.I18nModule.get().getMessage("en-US", translationKey);
-                                if (i18n != null && !i18n.isEmpty()) {
-                                    friendlyName = i18n;
-                                }
-                            }
-                        }
-                    } catch (Exception e) {
-                        // Fall back to code if name lookup fails
-                    }
+                    // Get friendly name for the item (falls back to code) - cached lookup, never rebuilds on the world thread
+                    String friendlyName = plugin.getItemCatalog().getFriendlyName(itemId);
 
                     // Create inventory item entry
                     Map<String, Object> inventoryItem = new HashMap<>();
@@ -1319,22 +1173,11 @@ private Object handleGetPlayerInventory(JsonObject payload) {
                 }
 
                 plugin.getLogger().at(java.util.logging.Level.FINE).log("Found " + inventoryItems.size() + " items in player inventory");
-                future.complete(null);
-            } catch (Exception e) {
-                plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error reading inventory: " + e.getMessage());
-                e.printStackTrace();
-                future.completeExceptionally(e);
-            }
+                return inventoryItems.toArray(new Object[0]);
+        }).exceptionally(error -> {
+            plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error reading inventory: " + WorldActions.describe(error));
+            return new Object[0];
         });
-
-            // Wait for world thread to complete
-            try {
-                future.get(5, TimeUnit.SECONDS);
-            } catch (Exception e) {
-                plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Timeout waiting for inventory: " + e.getMessage());
-            }
-
-            return inventoryItems.toArray(new Object[0]);
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error parsing getPlayerInventory payload: " + e.getMessage());
             e.printStackTrace();
@@ -1342,20 +1185,10 @@ private Object handleGetPlayerInventory(JsonObject payload) {
         }
     }
 
-    private Object handleGetPlayerBedLocation(JsonObject payload) {
+    private Object handleGetPlayerBedLocation(ActionArgs.PlayerTarget args) {
         try {
-            String argsString = payload.get("args").getAsString();
-            JsonObject args = gson.fromJson(argsString, JsonObject.class);
-
-            // Try to get gameId from args first, then fall back to top-level payload
-            String gameId;
-            if (args.has("gameId")) {
-                gameId = args.get("gameId").getAsString();
-            } else if (payload.has("playerId")) {
-                gameId = payload.get("playerId").getAsString();
-            } else if (payload.has("gameId")) {
-                gameId = payload.get("gameId").getAsString();
-            } else {
+            String gameId = args.gameId();
+            if (gameId == null) {
                 plugin.getLogger().at(java.util.logging.Level.WARNING).log("No gameId or playerId provided");
                 return new Object[0];
             }
@@ -1371,10 +1204,7 @@ private Object handleGetPlayerBedLocation(JsonObject payload) {
             }
 
             UUID playerUuid = UUID.fromString(gameId);
-            PlayerRef playerRef = universe.getPlayers().stream()
-                .filter(p -> p.getUuid().equals(playerUuid))
-                .findFirst()
-                .orElse(null);
+            PlayerRef playerRef = plugin.getPlayerDirectory().get(playerUuid);
 
             if (playerRef == null) {
                 plugin.getLogger().at(java.util.logging.Level.WARNING).log("Player not found: " + gameId);
@@ -1391,24 +1221,20 @@ private Object handleGetPlayerBedLocation(JsonObject payload) {
             World world = store.getExternalData().getWorld();
 
             // Access player bed locations on the world thread
-            List<Map<String, Object>> bedLocations = new ArrayList<>();
-            CompletableFuture<Void> future = new CompletableFuture<>();
-
-            world.execute(() -> {
+            return WorldActions.supply(world, () -> {
+                List<Map<String, Object>> bedLocations = new ArrayList<>();
                 try {
                     Player player = store.getComponent(ref, Player.getComponentType());
                     if (player == null) {
                         plugin.getLogger().at(java.util.logging.Level.WARNING).log("Player component not found: " + gameId);
-                        future.complete(null);
-                        return;
+                        return bedLocations.toArray(new Object[0]);
                     }
 
                     // Get player configuration data
                     Object playerConfigData = player.getPlayerConfigData();
                     if (playerConfigData == null) {
                         plugin.getLogger().at(java.util.logging.Level.WARNING).log("PlayerConfigData is null");
-                        future.complete(null);
-                        return;
+                        return bedLocations.toArray(new Object[0]);
                     }
 
                     // Use reflection to access PlayerConfigData methods
@@ -1420,8 +1246,7 @@ private Object handleGetPlayerBedLocation(JsonObject payload) {
 
                         if (playerWorldData == null) {
                             plugin.getLogger().at(java.util.logging.Level.INFO).log("No world data for " + world.getName());
-                            future.complete(null);
-                            return;
+                            return bedLocations.toArray(new Object[0]);
                         }
 
                         // Get respawn points array
@@ -1431,8 +1256,7 @@ private Object handleGetPlayerBedLocation(JsonObject payload) {
 
                         if (respawnPoints == null || respawnPoints.length == 0) {
                             plugin.getLogger().at(java.util.logging.Level.INFO).log("No respawn points found for player");
-                            future.complete(null);
-                            return;
+                            return bedLocations.toArray(new Object[0]);
                         }
 
                         // Extract bed information from each respawn point
@@ -1499,14 +1323,14 @@ private Object handleGetPlayerBedLocation(JsonObject payload) {
                         plugin.getLogger().at(java.util.logging.Level.INFO).log(
                             "Found " + bedLocations.size() + " bed locations for player"
                         );
-                        future.complete(null);
+                        return bedLocations.toArray(new Object[0]);
 
                     } catch (Exception reflectionEx) {
                         plugin.getLogger().at(java.util.logging.Level.SEVERE).log(
                             "Error using reflection to access bed data: " + reflectionEx.getMessage()
                         );
                         reflectionEx.printStackTrace();
-                        future.completeExceptionally(reflectionEx);
+                        throw reflectionEx;
                     }
 
                 } catch (Exception e) {
@@ -1514,20 +1338,14 @@ private Object handleGetPlayerBedLocation(JsonObject payload) {
                         "Error getting bed locations: " + e.getMessage()
                     );
                     e.printStackTrace();
-                    future.completeExceptionally(e);
+                    throw e;
                 }
-            });
-
-            // Wait for world thread to complete
-            try {
-                future.get(5, TimeUnit.SECONDS);
-            } catch (Exception e) {
+            }).exceptionally(error -> {
                 plugin.getLogger().at(java.util.logging.Level.SEVERE).log(
-                    "Timeout waiting for bed locations: " + e.getMessage()
+                    "Failed waiting for bed locations: " + WorldActions.describe(error)
                 );
-            }
-
-            return bedLocations.toArray(new Object[0]);
+                return new Object[0];
+            });
 
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log(
@@ -1538,61 +1356,16 @@ private Object handleGetPlayerBedLocation(JsonObject payload) {
         }
     }
 
-    private Object handleListItems() {
+    private Object handleListItems(ActionArgs.ListItems args) {
         try {
-            plugin.getLogger().at(java.util.logging.Level.INFO).log("Fetching all items from AssetMap");
-
-            // Get the DefaultAssetMap
-            com.hypixel.hytale.assetstore.map.DefaultAssetMap<String, Item> assetMap = Item.getAssetMap();
-            plugin.getLogger().at(java.util.logging.Level.INFO).log("AssetMap retrieved: " + (assetMap != null ? "not null" : "NULL"));
-
-            if (assetMap == null) {
-                plugin.getLogger().at(java.util.logging.Level.SEVERE).log("AssetMap is NULL!");
-                return new Object[0];
-            }
-
-            // Get the Map from the AssetMap
-            Map<String, Item> items = assetMap.getAssetMap();
-            plugin.getLogger().at(java.util.logging.Level.INFO).log("Items map retrieved: " + (items != null ? "not null, size=" + items.size() : "NULL"));
-
-            if (items == null || items.isEmpty()) {
+            ItemCatalog.Snapshot catalog = plugin.getItemCatalog().current();
+            if (catalog == null) {
                 plugin.getLogger().at(java.util.logging.Level.WARNING).log("Items map is null or empty! Items may not be loaded yet.");
                 return new Object[0];
             }
 
-            List<Map<String, String>> itemList = new ArrayList<>();
-
-            for (Map.Entry<String, Item> entry : items.entrySet()) {
-                String code = entry.getKey();
-                if (code == null || code.isEmpty()) continue;
-
-                Item item = entry.getValue();
-                if (item == null) continue;
-
-                try {
-                    String friendlyName = code;
-                    String translationKey = item.getTranslationKey();
-                    if (translationKey != null) {
-                        String i18n = com.hypixel.hytale.server.core.modules.i18n.I18nModule.get().getMessage("en-US", translationKey);
-                        if (i18n != null && !i18n.isEmpty()) {
-                            friendlyName = i18n;
-                        }
-                    }
-
-                    Map<String, String> itemInfo = new HashMap<>();
-                    itemInfo.put("code", code);
-                    itemInfo.put("name", friendlyName);
-                    itemList.add(itemInfo);
-                } catch (Exception e) {
-                    Map<String, String> itemInfo = new HashMap<>();
-                    itemInfo.put("code", code);
-                    itemInfo.put("name", code);
-                    itemList.add(itemInfo);
-                }
-            }
-
-            plugin.getLogger().at(java.util.logging.Level.INFO).log("Successfully returning " + itemList.size() + " items");
-            return itemList;
+            plugin.getLogger().at(java.util.logging.Level.FINE).log("Returning item catalog v" + catalog.getVersion() + " (" + catalog.size() + " items)");
+            return new RawJson(catalog.toJson(args.prefix(), args.offset(), args.limit()));
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error listing items: " + e.getMessage());
             e.printStackTrace();
@@ -1600,7 +1373,7 @@ private Object handleListItems() {
         }
     }
 
-    private Map<String, Object> handleGiveConsoleCommand(String command) {
+    private Object handleGiveConsoleCommand(String command) {
         try {
             // Parse: give <player> <item> [amount]
             String[] parts = command.split("\\s+");
@@ -1642,10 +1415,7 @@ private Map<String, Object> handleGiveConsoleCommand(String command) {
             }
 
             // Find player by name
-            PlayerRef playerRef = universe.getPlayers().stream()
-                .filter(p -> p.getUsername().equalsIgnoreCase(playerName))
-                .findFirst()
-                .orElse(null);
+            PlayerRef playerRef = plugin.getPlayerDirectory().getByName(playerName);
 
             if (playerRef == null) {
                 Map<String, Object> result = new HashMap<>();
@@ -1665,45 +1435,30 @@ private Map<String, Object> handleGiveConsoleCommand(String command) {
             Store<EntityStore> store = ref.getStore();
             World world = store.getExternalData().getWorld();
 
-            CompletableFuture<String> future = new CompletableFuture<>();
-
-            world.execute(() -> {
-                try {
-                    Player playerComponent = store.getComponent(ref, Player.getComponentType());
-                    if (playerComponent == null) {
-                        future.complete("Player component not found");
-                        return;
-                    }
+            // Skipped if it reaches the world after the timeout, so a reported failure never pays out late
+            CompletableFuture<String> future = WorldActions.supply(world, () -> {
+                Player playerComponent = store.getComponent(ref, Player.getComponentType());
+                if (playerComponent == null) {
+                    return "Player component not found";
+                }
 
-                    Item item = Item.getAssetMap().getAsset(itemName);
-                    if (item == null) {
-                        future.complete("Item not found: " + itemName);
-                        return;
-                    }
+                Item item = Item.getAssetMap().getAsset(itemName);
+                if (item == null) {
+                    return "Item not found: " + itemName;
+                }
 
-                    ItemStackTransaction transaction = playerComponent.getInventory()
-                        .getCombinedHotbarFirst()
-                        .addItemStack(new ItemStack(item.getId(), amount, null));
+                ItemStackTransaction transaction = playerComponent.getInventory()
+                    .getCombinedHotbarFirst()
+                    .addItemStack(new ItemStack(item.getId(), amount, null));
 
-                    ItemStack remainder = transaction.getRemainder();
-                    if (remainder != null && !remainder.isEmpty()) {
-                        future.complete("Gave " + (amount - remainder.getQuantity()) + " " + itemName + " to " + playerName + " (inventory full, " + remainder.getQuantity() + " dropped)");
-                    } else {
-                        future.complete("Gave " + amount + " " + itemName + " to " + playerName);
-                    }
-                } catch (Exception e) {
-                    plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error giving item: " + e.getMessage());
-                    e.printStackTrace();
-                    future.complete("Error: " + e.getMessage());
+                ItemStack remainder = transaction.getRemainder();
+                if (remainder != null && !remainder.isEmpty()) {
+                    return "Gave " + (amount - remainder.getQuantity()) + " " + itemName + " to " + playerName + " (inventory full, " + remainder.getQuantity() + " dropped)";
                 }
+                return "Gave " + amount + " " + itemName + " to " + playerName;
             });
 
-            String resultMessage = future.get(5, TimeUnit.SECONDS);
-
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", !resultMessage.startsWith("Error") && !resultMessage.contains("not found"));
-            result.put("rawResult", resultMessage);
-            return result;
+            return consoleResult(future, "giving item", message -> !message.contains("not found"));
 
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error handling give command: " + e.getMessage());
@@ -1715,7 +1470,7 @@ private Map<String, Object> handleGiveConsoleCommand(String command) {
         }
     }
 
-    private Map<String, Object> handleTeleportConsoleCommand(String command) {
+    private Object handleTeleportConsoleCommand(String command) {
         try {
             // Parse: teleportPlayer <player> <x> <y> <z> or tp <player> <x> <y> <z>
             String[] parts = command.split("\\s+");
@@ -1754,10 +1509,7 @@ private Map<String, Object> handleTeleportConsoleCommand(String command) {
             }
 
             // Find player by name
-            PlayerRef playerRef = universe.getPlayers().stream()
-                .filter(p -> p.getUsername().equalsIgnoreCase(playerName))
-                .findFirst()
-                .orElse(null);
+            PlayerRef playerRef = plugin.getPlayerDirectory().getByName(playerName);
 
             if (playerRef == null) {
                 Map<String, Object> result = new HashMap<>();
@@ -1777,35 +1529,15 @@ private Map<String, Object> handleTeleportConsoleCommand(String command) {
             Store<EntityStore> store = ref.getStore();
             World world = store.getExternalData().getWorld();
 
-            CompletableFuture<String> future = new CompletableFuture<>();
-
-            world.execute(() -> {
-                try {
-                    Vector3d position = new Vector3d(x, y, z);
-                    Vector3f rotation = new Vector3f(0, 0, 0);
-                    Teleport teleport = new Teleport(world, position, rotation);
-                    store.addComponent(ref, Teleport.getComponentType(), teleport);
-                    future.complete("Teleported " + playerName + " to " + x + ", " + y + ", " + z);
-                } catch (Throwable e) {
-                    plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error teleporting: " + e.getClass().getName() + ": " + e.getMessage());
-                    e.printStackTrace();
-                    future.completeExceptionally(e);
-                }
+            CompletableFuture<String> future = WorldActions.supply(world, () -> {
+                Vector3d position = new Vector3d(x, y, z);
+                Vector3f rotation = new Vector3f(0, 0, 0);
+                Teleport teleport = new Teleport(world, position, rotation);
+                store.addComponent(ref, Teleport.getComponentType(), teleport);
+                return "Teleported " + playerName + " to " + x + ", " + y + ", " + z;
             });
 
-            String resultMessage;
-            try {
-                resultMessage = future.get(5, TimeUnit.SECONDS);
-            } catch (Exception e) {
-                plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Teleport future failed: " + e.getClass().getName() + ": " + e.getMessage());
-                e.printStackTrace();
-                resultMessage = "Error: " + e.getMessage();
-            }
-
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", !resultMessage.startsWith("Error"));
-            result.put("rawResult", resultMessage);
-            return result;
+            return consoleResult(future, "teleporting", message -> true);
 
         } catch (Throwable e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error handling teleport command: " + e.getClass().getName() + ": " + e.getMessage());
@@ -1817,7 +1549,7 @@ private Map<String, Object> handleTeleportConsoleCommand(String command) {
         }
     }
 
-    private Map<String, Object> handleTeleportPlayerToPlayerConsoleCommand(String command) {
+    private Object handleTeleportPlayerToPlayerConsoleCommand(String command) {
         try {
             // Parse: teleportPlayerToPlayer <player> <targetPlayer> or tpp <player> <targetPlayer>
             String[] parts = command.split("\\s+");
@@ -1845,10 +1577,7 @@ private Map<String, Object> handleTeleportPlayerToPlayerConsoleCommand(String co
             }
 
             // Find source player by name
-            PlayerRef sourcePlayer = universe.getPlayers().stream()
-                .filter(p -> p.getUsername().equalsIgnoreCase(sourcePlayerName))
-                .findFirst()
-                .orElse(null);
+            PlayerRef sourcePlayer = plugin.getPlayerDirectory().getByName(sourcePlayerName);
 
             if (sourcePlayer == null) {
                 Map<String, Object> result = new HashMap<>();
@@ -1858,10 +1587,7 @@ private Map<String, Object> handleTeleportPlayerToPlayerConsoleCommand(String co
             }
 
             // Find target player by name
-            PlayerRef targetPlayer = universe.getPlayers().stream()
-                .filter(p -> p.getUsername().equalsIgnoreCase(targetPlayerName))
-                .findFirst()
-                .orElse(null);
+            PlayerRef targetPlayer = plugin.getPlayerDirectory().getByName(targetPlayerName);
 
             if (targetPlayer == null) {
                 Map<String, Object> result = new HashMap<>();
@@ -1890,68 +1616,24 @@ private Map<String, Object> handleTeleportPlayerToPlayerConsoleCommand(String co
             Store<EntityStore> targetStore = targetRef.getStore();
             World targetWorld = targetStore.getExternalData().getWorld();
 
-            // Get target player's position
-            CompletableFuture<Vector3d> positionFuture = new CompletableFuture<>();
-
-            targetWorld.execute(() -> {
-                try {
-                    TransformComponent targetTransform = targetStore.getComponent(targetRef, TransformComponent.getComponentType());
-                    if (targetTransform == null) {
-                        positionFuture.completeExceptionally(new Exception("Target transform not found"));
-                        return;
-                    }
-                    positionFuture.complete(new Vector3d(targetTransform.getPosition()));
-                } catch (Throwable e) {
-                    plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error getting target position: " + e.getClass().getName() + ": " + e.getMessage());
-                    e.printStackTrace();
-                    positionFuture.completeExceptionally(e);
-                }
-            });
-
-            Vector3d targetPosition;
-            try {
-                targetPosition = positionFuture.get(5, TimeUnit.SECONDS);
-            } catch (Exception e) {
-                plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Failed to get target position: " + e.getClass().getName() + ": " + e.getMessage());
-                e.printStackTrace();
-                Map<String, Object> result = new HashMap<>();
-                result.put("success", false);
-                result.put("rawResult", "Error getting target position: " + e.getMessage());
-                return result;
-            }
-
-            // Now teleport source player to target position
             Store<EntityStore> sourceStore = sourceRef.getStore();
             World sourceWorld = sourceStore.getExternalData().getWorld();
 
-            CompletableFuture<String> teleportFuture = new CompletableFuture<>();
-
-            sourceWorld.execute(() -> {
-                try {
-                    Vector3f rotation = new Vector3f(0, 0, 0);
-                    Teleport teleport = new Teleport(targetWorld, targetPosition, rotation);
-                    sourceStore.addComponent(sourceRef, Teleport.getComponentType(), teleport);
-                    teleportFuture.complete("Teleported " + sourcePlayerName + " to " + targetPlayerName);
-                } catch (Throwable e) {
-                    plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error teleporting: " + e.getClass().getName() + ": " + e.getMessage());
-                    e.printStackTrace();
-                    teleportFuture.completeExceptionally(e);
+            // Read the target's position on its world thread, then teleport on the source's
+            CompletableFuture<String> future = WorldActions.supply(targetWorld, () -> {
+                TransformComponent targetTransform = targetStore.getComponent(targetRef, TransformComponent.getComponentType());
+                if (targetTransform == null) {
+                    throw new IllegalStateException("Target transform not found");
                 }
-            });
+                return new Vector3d(targetTransform.getPosition());
+            }).thenCompose(targetPosition -> WorldActions.supply(sourceWorld, () -> {
+                Vector3f rotation = new Vector3f(0, 0, 0);
+                Teleport teleport = new Teleport(targetWorld, targetPosition, rotation);
+                sourceStore.addComponent(sourceRef, Teleport.getComponentType(), teleport);
+                return "Teleported " + sourcePlayerName + " to " + targetPlayerName;
+            }));
 
-            String resultMessage;
-            try {
-                resultMessage = teleportFuture.get(5, TimeUnit.SECONDS);
-            } catch (Exception e) {
-                plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Teleport future failed: " + e.getClass().getName() + ": " + e.getMessage());
-                e.printStackTrace();
-                resultMessage = "Error: " + e.getMessage();
-            }
-
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", !resultMessage.startsWith("Error"));
-            result.put("rawResult", resultMessage);
-            return result;
+            return consoleResult(future, "teleporting to player", message -> true);
 
         } catch (Throwable e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error handling teleport to player command: " + e.getClass().getName() + ": " + e.getMessage());
@@ -1963,7 +1645,7 @@ private Map<String, Object> handleTeleportPlayerToPlayerConsoleCommand(String co
         }
     }
 
-    private Map<String, Object> buildPlayerLocationsResponse() {
+    private Object buildPlayerLocationsResponse() {
         try {
             com.hypixel.hytale.server.core.universe.Universe universe =
                 com.hypixel.hytale.server.core.universe.Universe.get();
@@ -1984,51 +1666,55 @@ private Map<String, Object> buildPlayerLocationsResponse() {
                 return result;
             }
 
-            StringBuilder output = new StringBuilder();
-            output.append("=== ONLINE PLAYERS & LOCATIONS ===\n\n");
-            output.append(String.format("Total players: %d\n\n", players.size()));
+            // Group players by world so each world thread reads all its transforms in one pass
+            int playerCount = players.size();
+            AtomicReferenceArray<String> locations = new AtomicReferenceArray<>(playerCount);
+            List<Ref<EntityStore>> refs = new ArrayList<>(playerCount);
+            Map<World, List<Integer>> playersByWorld = new IdentityHashMap<>();
 
-            for (PlayerRef player : players) {
-                String playerName = player.getUsername();
-                UUID playerUuid = player.getUuid();
-
-                Ref<EntityStore> ref = player.getReference();
+            for (int i = 0; i < playerCount; i++) {
+                Ref<EntityStore> ref = players.get(i).getReference();
+                refs.add(ref);
                 if (ref == null || !ref.isValid()) {
-                    output.append(String.format("%-20s - Not in world\n", playerName));
+                    locations.set(i, "Not in world");
                     continue;
                 }
+                World world = ref.getStore().getExternalData().getWorld();
+                playersByWorld.computeIfAbsent(world, w -> new ArrayList<>()).add(i);
+            }
 
-                Store<EntityStore> store = ref.getStore();
-                World world = store.getExternalData().getWorld();
-
-                // Get location synchronously
-                CompletableFuture<String> locationFuture = new CompletableFuture<>();
-
-                world.execute(() -> {
-                    try {
-                        TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
-                        if (transform == null) {
-                            locationFuture.complete("Unknown location");
-                            return;
-                        }
-
-                        Vector3d position = transform.getPosition();
-                        String location = String.format("X: %.1f, Y: %.1f, Z: %.1f",
-                            position.getX(), position.getY(), position.getZ());
-                        locationFuture.complete(location);
-                    } catch (Exception e) {
-                        locationFuture.complete("Error: " + e.getMessage());
+            List<CompletableFuture<Void>> worldReads = new ArrayList<>(playersByWorld.size());
+            for (Map.Entry<World, List<Integer>> entry : playersByWorld.entrySet()) {
+                List<Integer> indexes = entry.getValue();
+                // A world that rejects or misses the deadline only leaves its own players unresolved
+                worldReads.add(WorldActions.supply(entry.getKey(), () -> {
+                    for (int index : indexes) {
+                        locations.set(index, readLocation(refs.get(index)));
+                    }
+                    return (Void) null;
+                }).exceptionally(error -> {
+                    plugin.getLogger().at(java.util.logging.Level.WARNING).log("Could not read player locations from world: " + WorldActions.describe(error));
+                    return null;
+                }));
+            }
+
+            // One deadline covers every world - they run concurrently - and nothing waits on it
+            return CompletableFuture.allOf(worldReads.toArray(new CompletableFuture[0]))
+                .completeOnTimeout(null, 2, TimeUnit.SECONDS)
+                .thenApply(done -> {
+                    StringBuilder output = new StringBuilder();
+                    output.append("=== ONLINE PLAYERS & LOCATIONS ===\n\n");
+                    output.append(String.format("Total players: %d\n\n", playerCount));
+                    for (int i = 0; i < playerCount; i++) {
+                        String location = locations.get(i);
+                        output.append(String.format("%-20s - %s\n", players.get(i).getUsername(), location != null ? location : "Timed out"));
                     }
-                });
-
-                String location = locationFuture.get(2, TimeUnit.SECONDS);
-                output.append(String.format("%-20s - %s\n", playerName, location));
-            }
 
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", true);
-            result.put("rawResult", output.toString());
-            return result;
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("success", true);
+                    result.put("rawResult", output.toString());
+                    return result;
+                });
 
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error building player locations: " + e.getMessage());
@@ -2040,7 +1726,48 @@ private Map<String, Object> buildPlayerLocationsResponse() {
         }
     }
 
-    private Map<String, Object> handleBedsConsoleCommand(String command) {
+    /**
+     * Format a player's position - must run on the player's world thread
+     */
+    private String readLocation(Ref<EntityStore> ref) {
+        try {
+            if (ref == null || !ref.isValid()) {
+                return "Not in world";
+            }
+            TransformComponent transform = ref.getStore().getComponent(ref, TransformComponent.getComponentType());
+            if (transform == null) {
+                return "Unknown location";
+            }
+
+            Vector3d position = transform.getPosition();
+            return String.format("X: %.1f, Y: %.1f, Z: %.1f",
+                position.getX(), position.getY(), position.getZ());
+        } catch (Exception e) {
+            return "Error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Console shortcut response for a world task, answered when it completes. A failure or
+     * timeout is reported as "Error: ..."; otherwise {@code succeeded} judges the message.
+     */
+    private CompletableFuture<Map<String, Object>> consoleResult(CompletableFuture<String> pending, String what,
+                                                                 java.util.function.Predicate<String> succeeded) {
+        return pending.handle((message, error) -> {
+            Map<String, Object> result = new HashMap<>();
+            if (error != null) {
+                plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error " + what + ": " + WorldActions.describe(error));
+                result.put("success", false);
+                result.put("rawResult", "Error: " + WorldActions.describe(error));
+                return result;
+            }
+            result.put("success", succeeded.test(message));
+            result.put("rawResult", message);
+            return result;
+        });
+    }
+
+    private Object handleBedsConsoleCommand(String command) {
         try {
             // Parse: beds <player> or playerbeds <player>
             String[] parts = command.split("\\s+");
@@ -2067,10 +1794,7 @@ private Map<String, Object> handleBedsConsoleCommand(String command) {
             }
 
             // Find player by name
-            PlayerRef playerRef = universe.getPlayers().stream()
-                .filter(p -> p.getUsername().equalsIgnoreCase(playerName))
-                .findFirst()
-                .orElse(null);
+            PlayerRef playerRef = plugin.getPlayerDirectory().getByName(playerName);
 
             if (playerRef == null) {
                 Map<String, Object> result = new HashMap<>();
@@ -2091,21 +1815,17 @@ private Map<String, Object> handleBedsConsoleCommand(String command) {
             World world = store.getExternalData().getWorld();
 
             // Access player bed locations on the world thread
-            CompletableFuture<String> future = new CompletableFuture<>();
-
-            world.execute(() -> {
+            CompletableFuture<String> future = WorldActions.supply(world, () -> {
                 try {
                     Player player = store.getComponent(ref, Player.getComponentType());
                     if (player == null) {
-                        future.complete("ERROR: Player component not found for " + playerName);
-                        return;
+                        return "ERROR: Player component not found for " + playerName;
                     }
 
                     // Get player configuration data
                     Object playerConfigData = player.getPlayerConfigData();
                     if (playerConfigData == null) {
-                        future.complete("No bed data available for " + playerName);
-                        return;
+                        return "No bed data available for " + playerName;
                     }
 
                     // Use reflection to access PlayerConfigData methods
@@ -2116,8 +1836,7 @@ private Map<String, Object> handleBedsConsoleCommand(String command) {
                         Object playerWorldData = getPerWorldDataMethod.invoke(playerConfigData, world.getName());
 
                         if (playerWorldData == null) {
-                            future.complete(playerName + " has no beds in world: " + world.getName());
-                            return;
+                            return playerName + " has no beds in world: " + world.getName();
                         }
 
                         // Get respawn points array
@@ -2126,8 +1845,7 @@ private Map<String, Object> handleBedsConsoleCommand(String command) {
                         Object[] respawnPoints = (Object[]) getRespawnPointsMethod.invoke(playerWorldData);
 
                         if (respawnPoints == null || respawnPoints.length == 0) {
-                            future.complete(playerName + " has no beds in world: " + world.getName());
-                            return;
+                            return playerName + " has no beds in world: " + world.getName();
                         }
 
                         // Build output
@@ -2188,32 +1906,26 @@ private Map<String, Object> handleBedsConsoleCommand(String command) {
                             }
                         }
 
-                        future.complete(output.toString());
+                        return output.toString();
 
                     } catch (Exception reflectionEx) {
-                        future.complete("ERROR: Could not read bed data: " + reflectionEx.getMessage());
                         plugin.getLogger().at(java.util.logging.Level.SEVERE).log(
                             "Error using reflection to access bed data: " + reflectionEx.getMessage()
                         );
                         reflectionEx.printStackTrace();
+                        return "ERROR: Could not read bed data: " + reflectionEx.getMessage();
                     }
 
                 } catch (Exception e) {
-                    future.complete("ERROR: " + e.getMessage());
                     plugin.getLogger().at(java.util.logging.Level.SEVERE).log(
                         "Error getting bed locations: " + e.getMessage()
                     );
                     e.printStackTrace();
+                    return "ERROR: " + e.getMessage();
                 }
             });
 
-            // Wait for world thread to complete
-            String resultMessage = future.get(5, TimeUnit.SECONDS);
-
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", !resultMessage.startsWith("ERROR"));
-            result.put("rawResult", resultMessage);
-            return result;
+            return consoleResult(future, "getting bed locations", message -> !message.startsWith("ERROR"));
 
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error handling beds command: " + e.getMessage());
@@ -2253,10 +1965,7 @@ private Map<String, Object> handleSetColorConsoleCommand(String command) {
             }
 
             // Find player by name
-            PlayerRef playerRef = universe.getPlayers().stream()
-                .filter(p -> p.getUsername().equalsIgnoreCase(playerName))
-                .findFirst()
-                .orElse(null);
+            PlayerRef playerRef = plugin.getPlayerDirectory().getByName(playerName);
 
             if (playerRef == null) {
                 Map<String, Object> result = new HashMap<>();
@@ -2268,7 +1977,12 @@ private Map<String, Object> handleSetColorConsoleCommand(String command) {
             String uuid = playerRef.getUuid().toString();
 
             // Update the cache
-            plugin.setPlayerNameColor(uuid, color);
+            if (!plugin.setPlayerNameColor(uuid, color)) {
+                Map<String, Object> result = new HashMap<>();
+                result.put("success", false);
+                result.put("rawResult", "Unknown color: " + color);
+                return result;
+            }
 
             Map<String, Object> result = new HashMap<>();
             result.put("success", true);
@@ -2505,6 +2219,14 @@ private Object handleGetAvailableActions() {
         unbanPlayer.put("returns", "{\"success\": true}");
         actions.add(unbanPlayer);
 
+        // setChatFilter
+        Map<String, Object> setChatFilter = new HashMap<>();
+        setChatFilter.put("action", "setChatFilter");
+        setChatFilter.put("description", "Replace the in-game chat word filter (mode: mask, cancel or off)");
+        setChatFilter.put("payload", "{\"args\": \"{\\\"words\\\":[\\\"word1\\\",\\\"word2\\\"],\\\"mode\\\":\\\"mask\\\",\\\"wholeWords\\\":true}\"}");
+        setChatFilter.put("returns", "{\"success\": true, \"words\": 2, \"mode\": \"mask\"}");
+        actions.add(setChatFilter);
+
         // getPlayerLocation
         Map<String, Object> getPlayerLocation = new HashMap<>();
         getPlayerLocation.put("action", "getPlayerLocation");
@@ -2577,11 +2299,7 @@ private Object getPlayerInventoryByName(String playerName) {
                 return error;
             }
 
-            JsonObject payload = new JsonObject();
-            JsonObject args = new JsonObject();
-            args.addProperty("gameId", gameId);
-            payload.addProperty("args", gson.toJson(args));
-            return handleGetPlayerInventory(payload);
+            return handleGetPlayerInventory(new ActionArgs.PlayerTarget(gameId));
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -2600,11 +2318,7 @@ private Object getPlayerLocationByName(String playerName) {
                 return error;
             }
 
-            JsonObject payload = new JsonObject();
-            JsonObject args = new JsonObject();
-            args.addProperty("gameId", gameId);
-            payload.addProperty("args", gson.toJson(args));
-            return handleGetPlayerLocation(payload);
+            return handleGetPlayerLocation(new ActionArgs.PlayerTarget(gameId));
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -2623,12 +2337,7 @@ private Object kickPlayerByName(String playerName, String reason) {
                 return error;
             }
 
-            JsonObject payload = new JsonObject();
-            JsonObject args = new JsonObject();
-            args.addProperty("gameId", gameId);
-            args.addProperty("reason", reason);
-            payload.addProperty("args", gson.toJson(args));
-            return handleKickPlayer(payload);
+            return handleKickPlayer(new ActionArgs.KickPlayer(gameId, reason));
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -2647,11 +2356,7 @@ private Object banPlayerByName(String playerName) {
                 return error;
             }
 
-            JsonObject payload = new JsonObject();
-            JsonObject args = new JsonObject();
-            args.addProperty("gameId", gameId);
-            payload.addProperty("args", gson.toJson(args));
-            return handleBanPlayer(payload);
+            return handleBanPlayer(new ActionArgs.PlayerTarget(gameId));
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -2670,11 +2375,7 @@ private Object unbanPlayerByName(String playerName) {
                 return error;
             }
 
-            JsonObject payload = new JsonObject();
-            JsonObject args = new JsonObject();
-            args.addProperty("gameId", gameId);
-            payload.addProperty("args", gson.toJson(args));
-            return handleUnbanPlayer(payload);
+            return handleUnbanPlayer(new ActionArgs.PlayerTarget(gameId));
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -2692,13 +2393,8 @@ private String getGameIdByName(String playerName) {
                 return null;
             }
 
-            List<PlayerRef> players = universe.getPlayers();
-            for (PlayerRef player : players) {
-                if (player.getUsername().equalsIgnoreCase(playerName)) {
-                    return player.getUuid().toString();
-                }
-            }
-            return null;
+            PlayerRef player = plugin.getPlayerDirectory().getByName(playerName);
+            return player != null ? player.getUuid().toString() : null;
         } catch (Exception e) {
             plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Error getting gameId by name: " + e.getMessage());
             return null;
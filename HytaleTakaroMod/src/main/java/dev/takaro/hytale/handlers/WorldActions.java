@@ -0,0 +1,79 @@
+package dev.takaro.hytale.handlers;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs work on a world thread and exposes the result as a CompletableFuture.
+ * Nothing waits on the future: callers attach callbacks, and timeouts are enforced by
+ * the JDK's shared delay scheduler ({@link CompletableFuture#orTimeout}) rather than parked threads.
+ */
+final class WorldActions {
+    static final long DEFAULT_TIMEOUT_SECONDS = 5;
+
+    /**
+     * Work to run on the world thread
+     */
+    @FunctionalInterface
+    interface WorldTask<T> {
+        T run() throws Exception;
+    }
+
+    private WorldActions() {
+    }
+
+    static <T> CompletableFuture<T> supply(World world, WorldTask<T> task) {
+        return supply(world, task, DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Queue {@code task} on {@code world}'s thread
+     * @return future completed with the task's result, its exception, or a TimeoutException
+     */
+    static <T> CompletableFuture<T> supply(World world, WorldTask<T> task, long timeout, TimeUnit unit) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            world.execute(() -> {
+                // Already timed out - the caller has reported failure, so don't apply it late
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(task.run());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // World rejected the task (e.g. shutting down)
+            future.completeExceptionally(e);
+        }
+        return future.orTimeout(timeout, unit);
+    }
+
+    /**
+     * Strip CompletionException/ExecutionException wrappers added by the future pipeline
+     */
+    static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * Human readable failure message for a response
+     */
+    static String describe(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof TimeoutException) {
+            return "Timed out waiting for world thread";
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
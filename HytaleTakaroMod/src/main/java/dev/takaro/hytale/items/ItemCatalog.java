@@ -0,0 +1,226 @@
+package dev.takaro.hytale.items;
+
+import com.google.gson.Gson;
+import com.hypixel.hytale.assetstore.map.DefaultAssetMap;
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.modules.i18n.I18nModule;
+import dev.takaro.hytale.TakaroPlugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Precomputed snapshot of all items (code + English name) for listItems and inventory lookups.
+ * Built once after assets load and rebuilt only when the item asset map changes, detected by
+ * a fingerprint of its codes and Item instances (a reload swaps in new instances, even in place
+ * and with the same count). The full JSON array is cached so repeat listItems calls don't
+ * re-resolve names, and entries are sorted by lowercase code so prefix filters are a binary search.
+ */
+public class ItemCatalog {
+    private static final Gson GSON = new Gson();
+
+    private final TakaroPlugin plugin;
+    private final Object rebuildLock = new Object();
+    private volatile Snapshot snapshot;
+    private long nextVersion = 1;
+
+    public ItemCatalog(TakaroPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Current snapshot, rebuilding it first if the asset map changed since the last build
+     * @return the snapshot, or null if items aren't loaded yet
+     */
+    public Snapshot current() {
+        Map<String, Item> items = getItems();
+        if (items == null || items.isEmpty()) {
+            return null;
+        }
+
+        long fingerprint = fingerprint(items);
+        Snapshot current = snapshot;
+        if (current != null && current.fingerprint == fingerprint) {
+            return current;
+        }
+
+        synchronized (rebuildLock) {
+            current = snapshot;
+            if (current == null || current.fingerprint != fingerprint) {
+                current = build(items, fingerprint, nextVersion++);
+                snapshot = current;
+                plugin.getLogger().at(java.util.logging.Level.INFO).log("Item catalog built: " + current.size() + " items (version " + current.getVersion() + ")");
+            }
+            return current;
+        }
+    }
+
+    /**
+     * English name for an item code, falling back to the code itself. Reads the last built
+     * snapshot and never rebuilds, so it is safe on a world thread.
+     */
+    public String getFriendlyName(String code) {
+        Snapshot current = snapshot;
+        if (current != null) {
+            String name = current.nameByCode.get(code);
+            if (name != null) {
+                return name;
+            }
+        }
+        return code;
+    }
+
+    private static Map<String, Item> getItems() {
+        DefaultAssetMap<String, Item> assetMap = Item.getAssetMap();
+        return assetMap != null ? assetMap.getAssetMap() : null;
+    }
+
+    /**
+     * Order-independent hash of every code and the identity of its Item - one pass with no
+     * I18n lookups, cheap next to a rebuild
+     */
+    private static long fingerprint(Map<String, Item> items) {
+        long hash = items.size();
+        for (Map.Entry<String, Item> entry : items.entrySet()) {
+            long h = (long) Objects.hashCode(entry.getKey()) << 32 ^ System.identityHashCode(entry.getValue());
+            // SplitMix64 finalizer, so summing entries doesn't cancel out
+            h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+            h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+            hash += h ^ (h >>> 31);
+        }
+        return hash;
+    }
+
+    private static Snapshot build(Map<String, Item> items, long fingerprint, long version) {
+        List<String[]> entries = new ArrayList<>(items.size());
+        for (Map.Entry<String, Item> entry : items.entrySet()) {
+            String code = entry.getKey();
+            if (code == null || code.isEmpty() || entry.getValue() == null) continue;
+            entries.add(new String[] { code.toLowerCase(Locale.ROOT), code, resolveName(code, entry.getValue()) });
+        }
+        entries.sort((a, b) -> {
+            int cmp = a[0].compareTo(b[0]);
+            return cmp != 0 ? cmp : a[1].compareTo(b[1]);
+        });
+
+        int count = entries.size();
+        String[] keys = new String[count];
+        String[] fragments = new String[count];
+        Map<String, String> nameByCode = new HashMap<>(count * 2);
+        StringBuilder json = new StringBuilder(count * 64 + 2);
+        json.append('[');
+
+        for (int i = 0; i < count; i++) {
+            String[] entry = entries.get(i);
+            keys[i] = entry[0];
+            nameByCode.put(entry[1], entry[2]);
+
+            Map<String, String> itemInfo = new LinkedHashMap<>();
+            itemInfo.put("code", entry[1]);
+            itemInfo.put("name", entry[2]);
+            fragments[i] = GSON.toJson(itemInfo);
+
+            if (i > 0) json.append(',');
+            json.append(fragments[i]);
+        }
+        json.append(']');
+
+        return new Snapshot(fingerprint, version, keys, fragments, nameByCode, json.toString());
+    }
+
+    private static String resolveName(String code, Item item) {
+        try {
+            String translationKey = item.getTranslationKey();
+            if (translationKey != null) {
+                String i18n = I18nModule.get().getMessage("en-US", translationKey);
+                if (i18n != null && !i18n.isEmpty()) {
+                    return i18n;
+                }
+            }
+        } catch (Exception e) {
+            // Fall back to code if name lookup fails
+        }
+        return code;
+    }
+
+    /**
+     * Immutable catalog contents for one version of the item asset map
+     */
+    public static final class Snapshot {
+        private final long fingerprint;
+        private final long version;
+        private final String[] keys; // lowercase codes, sorted
+        private final String[] fragments; // {"code":..,"name":..} per entry, same order as keys
+        private final Map<String, String> nameByCode;
+        private final String json;
+
+        private Snapshot(long fingerprint, long version, String[] keys,
+                         String[] fragments, Map<String, String> nameByCode, String json) {
+            this.fingerprint = fingerprint;
+            this.version = version;
+            this.keys = keys;
+            this.fragments = fragments;
+            this.nameByCode = Collections.unmodifiableMap(nameByCode);
+            this.json = json;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public int size() {
+            return keys.length;
+        }
+
+        /**
+         * JSON array of the entries whose code starts with {@code prefix} (case-insensitive),
+         * skipping {@code offset} matches and returning at most {@code limit}
+         */
+        public String toJson(String prefix, int offset, int limit) {
+            int from = 0;
+            int to = keys.length;
+            if (prefix != null && !prefix.isEmpty()) {
+                String key = prefix.toLowerCase(Locale.ROOT);
+                from = lowerBound(key);
+                // Every code with this prefix sorts before prefix + U+FFFF
+                to = lowerBound(key + '\uffff');
+            }
+
+            from = Math.min(to, from + Math.max(0, offset));
+            if (limit >= 0) {
+                to = (int) Math.min(to, (long) from + limit);
+            }
+
+            if (from == 0 && to == keys.length) {
+                return json;
+            }
+
+            StringBuilder out = new StringBuilder((to - from) * 64 + 2);
+            out.append('[');
+            for (int i = from; i < to; i++) {
+                if (i > from) out.append(',');
+                out.append(fragments[i]);
+            }
+            return out.append(']').toString();
+        }
+
+        private int lowerBound(String key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return -index - 1;
+            }
+            // Step back over duplicate keys (codes differing only by case)
+            while (index > 0 && keys[index - 1].equals(key)) {
+                index--;
+            }
+            return index;
+        }
+    }
+}
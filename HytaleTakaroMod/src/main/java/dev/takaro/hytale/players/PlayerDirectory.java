@@ -0,0 +1,269 @@
+package dev.takaro.hytale.players;
+
+import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import dev.takaro.hytale.TakaroPlugin;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Index of online players keyed by UUID and by lowercase username.
+ * Maintained from connect/disconnect events and periodically reconciled against
+ * the Universe in case an event was missed, so request handlers can look players
+ * up in O(1) instead of scanning {@code Universe.getPlayers()}.
+ */
+public class PlayerDirectory {
+    private static final long RECONCILE_INTERVAL_SECONDS = 30;
+
+    private final TakaroPlugin plugin;
+    private final ConcurrentHashMap<UUID, OnlinePlayer> byUuid = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, OnlinePlayer> byName = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public PlayerDirectory(TakaroPlugin plugin) {
+        this.plugin = plugin;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Takaro-PlayerDirectory");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Seed from the Universe and start periodic reconciliation
+     */
+    public void start() {
+        reconcile();
+        scheduler.scheduleAtFixedRate(this::reconcile, RECONCILE_INTERVAL_SECONDS, RECONCILE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+        byUuid.clear();
+        byName.clear();
+    }
+
+    /**
+     * Handle player connect events (registered before the Takaro listeners so lookups see the player)
+     */
+    public void onPlayerConnect(PlayerConnectEvent event) {
+        add(event.getPlayerRef());
+    }
+
+    /**
+     * Handle player disconnect events - safe to receive more than once per player
+     */
+    public void onPlayerDisconnect(PlayerDisconnectEvent event) {
+        remove(event.getPlayerRef());
+    }
+
+    /**
+     * Find an online player by UUID
+     */
+    public PlayerRef get(UUID uuid) {
+        if (uuid == null) {
+            return null;
+        }
+        OnlinePlayer player = byUuid.get(uuid);
+        return player != null ? player.getRef() : null;
+    }
+
+    /**
+     * Find an online player by gameId (UUID string)
+     * @return the player, or null if not online or the gameId isn't a UUID
+     */
+    public PlayerRef get(String gameId) {
+        UUID uuid = parseUuid(gameId);
+        return uuid != null ? get(uuid) : null;
+    }
+
+    /**
+     * Find an online player by username (case-insensitive)
+     */
+    public PlayerRef getByName(String name) {
+        if (name == null) {
+            return null;
+        }
+        OnlinePlayer player = byName.get(name.toLowerCase(Locale.ROOT));
+        return player != null ? player.getRef() : null;
+    }
+
+    /**
+     * Find an online player by gameId, falling back to username if it isn't a UUID
+     */
+    public PlayerRef find(String gameIdOrName) {
+        if (gameIdOrName == null) {
+            return null;
+        }
+        UUID uuid = parseUuid(gameIdOrName);
+        return uuid != null ? get(uuid) : getByName(gameIdOrName);
+    }
+
+    /**
+     * Find the descriptor captured when a player connected
+     */
+    public PlayerInfo getInfo(UUID uuid) {
+        if (uuid == null) {
+            return null;
+        }
+        OnlinePlayer player = byUuid.get(uuid);
+        return player != null ? player.getInfo() : null;
+    }
+
+    /**
+     * Descriptor for an online player, capturing one if the player isn't indexed yet
+     */
+    public PlayerInfo getInfo(PlayerRef ref) {
+        OnlinePlayer player = byUuid.get(ref.getUuid());
+        return player != null && player.getRef() == ref ? player.getInfo() : PlayerInfo.capture(ref);
+    }
+
+    /**
+     * Snapshot of all online players as a pre-serialized JSON array
+     */
+    public String getPlayersJson() {
+        StringBuilder json = new StringBuilder(64 + byUuid.size() * 160);
+        json.append('[');
+        for (OnlinePlayer player : byUuid.values()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(player.getInfo().toJson());
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * Snapshot of all online players
+     */
+    public List<PlayerRef> getPlayers() {
+        List<PlayerRef> players = new ArrayList<>(byUuid.size());
+        for (OnlinePlayer player : byUuid.values()) {
+            players.add(player.getRef());
+        }
+        return players;
+    }
+
+    public int size() {
+        return byUuid.size();
+    }
+
+    private void add(PlayerRef ref) {
+        OnlinePlayer player = new OnlinePlayer(ref, System.currentTimeMillis());
+        OnlinePlayer previous = byUuid.put(ref.getUuid(), player);
+        if (previous != null) {
+            // Same UUID reconnected (possibly under a new name) - drop the stale name key
+            byName.remove(previous.getNameKey(), previous);
+        }
+        byName.put(player.getNameKey(), player);
+    }
+
+    private void remove(PlayerRef ref) {
+        OnlinePlayer current = byUuid.get(ref.getUuid());
+        // Only remove the entry for this session, not a newer one from a quick reconnect
+        if (current != null && current.getRef() == ref && byUuid.remove(ref.getUuid(), current)) {
+            byName.remove(current.getNameKey(), current);
+        }
+    }
+
+    /**
+     * Bring the index in line with the Universe, fixing drift from missed events
+     */
+    private void reconcile() {
+        try {
+            Universe universe = Universe.get();
+            if (universe == null) {
+                return;
+            }
+
+            long snapshotTime = System.currentTimeMillis();
+            List<PlayerRef> online = universe.getPlayers();
+            Set<UUID> onlineIds = new HashSet<>(online.size() * 2);
+            int added = 0;
+            int removed = 0;
+
+            for (PlayerRef ref : online) {
+                onlineIds.add(ref.getUuid());
+                OnlinePlayer current = byUuid.get(ref.getUuid());
+                if (current == null || current.getRef() != ref) {
+                    add(ref);
+                    added++;
+                }
+            }
+
+            for (OnlinePlayer player : byUuid.values()) {
+                // Skip entries added after the snapshot was taken - they may be newer than it
+                if (!onlineIds.contains(player.getUuid()) && player.getConnectedAt() < snapshotTime) {
+                    remove(player.getRef());
+                    removed++;
+                }
+            }
+
+            if (added > 0 || removed > 0) {
+                plugin.getLogger().at(java.util.logging.Level.FINE).log("Player directory reconciled: +" + added + " -" + removed);
+            }
+        } catch (Exception e) {
+            plugin.getLogger().at(java.util.logging.Level.WARNING).log("Error reconciling player directory: " + e.getMessage());
+        }
+    }
+
+    private static UUID parseUuid(String value) {
+        // Cheap shape check first so player names don't pay for an exception
+        if (value == null || value.length() != 36 || value.charAt(8) != '-') {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Directory entry for one online player session
+     */
+    private static final class OnlinePlayer {
+        private final PlayerRef ref;
+        private final PlayerInfo info;
+        private final String nameKey;
+        private final long connectedAt;
+
+        OnlinePlayer(PlayerRef ref, long connectedAt) {
+            this.ref = ref;
+            this.info = PlayerInfo.capture(ref);
+            this.nameKey = ref.getUsername().toLowerCase(Locale.ROOT);
+            this.connectedAt = connectedAt;
+        }
+
+        PlayerRef getRef() {
+            return ref;
+        }
+
+        PlayerInfo getInfo() {
+            return info;
+        }
+
+        UUID getUuid() {
+            return ref.getUuid();
+        }
+
+        String getNameKey() {
+            return nameKey;
+        }
+
+        long getConnectedAt() {
+            return connectedAt;
+        }
+    }
+}
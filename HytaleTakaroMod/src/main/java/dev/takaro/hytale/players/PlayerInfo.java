@@ -0,0 +1,90 @@
+package dev.takaro.hytale.players;
+
+import com.google.gson.Gson;
+import com.hypixel.hytale.server.core.io.netty.NettyUtil;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import io.netty.channel.Channel;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable Takaro view of a player (IGamePlayer schema), captured once when the player connects.
+ * Holds the resolved IP and a pre-serialized JSON object so getPlayers/getPlayer
+ * don't touch the Netty channel or re-serialize on every poll.
+ */
+public final class PlayerInfo {
+    private static final Gson GSON = new Gson();
+    private static final String DEFAULT_IP = "127.0.0.1";
+
+    private final String name;
+    private final String gameId;
+    private final String platformId;
+    private final String ip;
+    private final String json;
+
+    private PlayerInfo(String name, String gameId, String ip) {
+        this.name = name;
+        this.gameId = gameId;
+        this.platformId = "hytale:" + gameId;
+        this.ip = ip;
+        this.json = GSON.toJson(toMap());
+    }
+
+    /**
+     * Build the descriptor for a player, resolving their remote IP from the connection
+     */
+    public static PlayerInfo capture(PlayerRef playerRef) {
+        return new PlayerInfo(playerRef.getUsername(), playerRef.getUuid().toString(), resolveIp(playerRef));
+    }
+
+    private static String resolveIp(PlayerRef playerRef) {
+        try {
+            Channel channel = playerRef.getPacketHandler().getChannel();
+            SocketAddress remoteAddress = NettyUtil.getRemoteSocketAddress(channel);
+            if (remoteAddress instanceof InetSocketAddress) {
+                return ((InetSocketAddress) remoteAddress).getAddress().getHostAddress();
+            }
+        } catch (Exception e) {
+            // Keep default 127.0.0.1
+        }
+        return DEFAULT_IP;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public String getPlatformId() {
+        return platformId;
+    }
+
+    public String getIp() {
+        return ip;
+    }
+
+    /**
+     * Pre-serialized JSON object with name, gameId, platformId and ip
+     */
+    public String toJson() {
+        return json;
+    }
+
+    /**
+     * Fresh mutable map with name, gameId, platformId and ip
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> player = new LinkedHashMap<>();
+        player.put("name", name);
+        player.put("gameId", gameId);
+        player.put("platformId", platformId);
+        player.put("ip", ip);
+        return player;
+    }
+}
@@ -0,0 +1,37 @@
+package dev.takaro.hytale.players;
+
+import com.hypixel.hytale.server.core.Message;
+
+import java.awt.Color;
+
+/**
+ * Chat style Takaro assigned to a player, resolved once when it is set. Immutable.
+ */
+public final class PlayerStyle {
+    private final String colorCode;
+    private final Color nameColor;
+
+    PlayerStyle(String colorCode, Color nameColor) {
+        this.colorCode = colorCode;
+        this.nameColor = nameColor;
+    }
+
+    /**
+     * Color code as Takaro sent it (e.g. "gold", "ff0000")
+     */
+    public String getColorCode() {
+        return colorCode;
+    }
+
+    public Color getNameColor() {
+        return nameColor;
+    }
+
+    /**
+     * The player's name in their color. A new Message each call - Messages are mutable and
+     * never shared between chat lines.
+     */
+    public Message nameMessage(String name) {
+        return Message.raw(name).color(nameColor);
+    }
+}
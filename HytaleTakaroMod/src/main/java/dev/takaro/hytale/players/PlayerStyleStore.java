@@ -0,0 +1,183 @@
+package dev.takaro.hytale.players;
+
+import dev.takaro.hytale.TakaroPlugin;
+import dev.takaro.hytale.handlers.ChatFormatter;
+
+import java.awt.Color;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Player chat styles set by Takaro (setPlayerNameColor), keyed by UUID.
+ * Colors are parsed when set, so chat only does a map lookup. Styles are snapshotted to
+ * a small binary file in the plugin data folder shortly after each change and on
+ * shutdown, and loaded on first use, so Takaro doesn't have to re-send every player's
+ * color after a restart.
+ */
+public class PlayerStyleStore {
+    private static final int MAGIC = 0x54505331; // "TPS1"
+    private static final long SAVE_DELAY_SECONDS = 5;
+
+    private final TakaroPlugin plugin;
+    private final Path file;
+    private final ConcurrentHashMap<UUID, PlayerStyle> styles = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService saver;
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+    private volatile boolean loaded = false;
+
+    public PlayerStyleStore(TakaroPlugin plugin, Path file) {
+        this.plugin = plugin;
+        this.file = file;
+        this.saver = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Takaro-PlayerStyles");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Load the snapshot in the background so the first chat message doesn't wait on disk
+     */
+    public void preload() {
+        try {
+            saver.execute(this::ensureLoaded);
+        } catch (RejectedExecutionException e) {
+            // Stopped
+        }
+    }
+
+    /**
+     * @return the player's style, or null if none is set
+     */
+    public PlayerStyle get(UUID uuid) {
+        ensureLoaded();
+        return styles.get(uuid);
+    }
+
+    /**
+     * Set or clear (null/empty code) a player's name color
+     * @return false if the color code isn't a known name or 6-digit hex - the style is cleared
+     */
+    public boolean setNameColor(UUID uuid, String colorCode) {
+        ensureLoaded();
+        boolean valid = true;
+        if (colorCode == null || colorCode.isEmpty()) {
+            styles.remove(uuid);
+        } else {
+            Color color = ChatFormatter.parseColor(colorCode);
+            if (color != null) {
+                styles.put(uuid, new PlayerStyle(colorCode, color));
+            } else {
+                styles.remove(uuid);
+                valid = false;
+            }
+        }
+        scheduleSave();
+        return valid;
+    }
+
+    public int size() {
+        ensureLoaded();
+        return styles.size();
+    }
+
+    /**
+     * Write any pending change and stop the background saver
+     */
+    public void stop() {
+        saver.shutdownNow();
+        if (loaded && saveScheduled.getAndSet(false)) {
+            save();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            load();
+            loaded = true;
+        }
+    }
+
+    private void load() {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                plugin.getLogger().at(java.util.logging.Level.WARNING).log("Ignoring unrecognized player style file: " + file);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                String colorCode = in.readUTF();
+                Color color = ChatFormatter.parseColor(colorCode);
+                if (color != null) {
+                    // A style set while we were loading is newer than the snapshot
+                    styles.putIfAbsent(uuid, new PlayerStyle(colorCode, color));
+                }
+            }
+            plugin.getLogger().at(java.util.logging.Level.INFO).log("Loaded " + styles.size() + " player name colors");
+        } catch (NoSuchFileException e) {
+            // Nothing saved yet
+        } catch (IOException e) {
+            plugin.getLogger().at(java.util.logging.Level.WARNING).log("Failed to load player styles: " + e.getMessage());
+        }
+    }
+
+    private void scheduleSave() {
+        if (!saveScheduled.compareAndSet(false, true)) {
+            return; // A save is already pending and will include this change
+        }
+        try {
+            saver.schedule(() -> {
+                saveScheduled.set(false);
+                save();
+            }, SAVE_DELAY_SECONDS, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException e) {
+            // Stopping - stop() writes the final snapshot
+        }
+    }
+
+    /**
+     * Write the snapshot to a temp file and move it into place, so a crash mid-write
+     * leaves the previous snapshot intact
+     */
+    private synchronized void save() {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                Map<UUID, PlayerStyle> snapshot = Map.copyOf(styles);
+                out.writeInt(MAGIC);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<UUID, PlayerStyle> entry : snapshot.entrySet()) {
+                    out.writeLong(entry.getKey().getMostSignificantBits());
+                    out.writeLong(entry.getKey().getLeastSignificantBits());
+                    out.writeUTF(entry.getValue().getColorCode());
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().at(java.util.logging.Level.WARNING).log("Failed to save player styles: " + e.getMessage());
+        }
+    }
+}
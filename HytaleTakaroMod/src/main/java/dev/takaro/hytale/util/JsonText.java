@@ -0,0 +1,71 @@
+package dev.takaro.hytale.util;
+
+/**
+ * Appends JSON values straight into a StringBuilder, for hot paths that write
+ * known shapes and shouldn't go through reflective serialization
+ */
+public final class JsonText {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private JsonText() {
+    }
+
+    /**
+     * Append {@code value} as a quoted, escaped JSON string (null as {@code null})
+     */
+    public static StringBuilder appendString(StringBuilder out, String value) {
+        if (value == null) {
+            return out.append("null");
+        }
+        out.append('"');
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String replacement;
+            if (c == '"') {
+                replacement = "\\\"";
+            } else if (c == '\\') {
+                replacement = "\\\\";
+            } else if (c == '\n') {
+                replacement = "\\n";
+            } else if (c == '\r') {
+                replacement = "\\r";
+            } else if (c == '\t') {
+                replacement = "\\t";
+            } else if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                replacement = null;
+            } else {
+                continue;
+            }
+            // Copy the clean run before this character in one call
+            out.append(value, start, i);
+            if (replacement != null) {
+                out.append(replacement);
+            } else {
+                out.append("\\u").append(HEX[(c >> 12) & 0xF]).append(HEX[(c >> 8) & 0xF])
+                    .append(HEX[(c >> 4) & 0xF]).append(HEX[c & 0xF]);
+            }
+            start = i + 1;
+        }
+        out.append(value, start, length);
+        return out.append('"');
+    }
+
+    /**
+     * Append a JSON number; NaN and infinities have no JSON form and are written as null
+     */
+    public static StringBuilder appendNumber(StringBuilder out, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return out.append("null");
+        }
+        return out.append(value);
+    }
+
+    /**
+     * Append {@code "name":} (the name must not need escaping)
+     */
+    public static StringBuilder appendName(StringBuilder out, String name) {
+        return out.append('"').append(name).append("\":");
+    }
+}
@@ -0,0 +1,121 @@
+package dev.takaro.hytale.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Fixed-capacity, lock-free multi-producer/single-consumer ring buffer.
+ * Producers never block: when the buffer is full the element is dropped and counted.
+ * Each slot carries a sequence number so producers can claim slots with a single CAS
+ * and the consumer can tell when a claimed slot has actually been published.
+ *
+ * Only one thread may call {@link #poll()} / {@link #drain(Consumer, int)} at a time.
+ */
+public final class MpscRingBuffer<E> {
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong(); // Next position producers will claim
+    private final AtomicLong head = new AtomicLong(); // Next position the consumer will read
+    private final LongAdder dropped = new LongAdder();
+
+    public MpscRingBuffer(int requestedCapacity) {
+        int size = 2;
+        while (size < requestedCapacity && size < (1 << 30)) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publish an element. Safe to call from any thread.
+     * @return false if the buffer was full and the element was dropped
+     */
+    public boolean offer(E element) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(index, element);
+                    // Volatile write publishes the element to the consumer
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // Slot still holds an unconsumed element from the previous lap - buffer is full
+                dropped.increment();
+                return false;
+            } else {
+                // Another producer claimed this position first
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Take the oldest published element, or null if none is ready. Consumer thread only.
+     */
+    public E poll() {
+        long pos = head.get();
+        int index = (int) (pos & mask);
+        if (sequences.get(index) != pos + 1) {
+            return null;
+        }
+        E element = slots.get(index);
+        slots.lazySet(index, null);
+        // Hand the slot back to producers for the next lap
+        sequences.set(index, pos + capacity);
+        head.lazySet(pos + 1);
+        return element;
+    }
+
+    /**
+     * Drain up to {@code limit} elements into the consumer. Consumer thread only.
+     * @return number of elements drained
+     */
+    public int drain(Consumer<? super E> consumer, int limit) {
+        int count = 0;
+        E element;
+        while (count < limit && (element = poll()) != null) {
+            consumer.accept(element);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Approximate number of elements waiting (exact when producers are idle)
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, capacity);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
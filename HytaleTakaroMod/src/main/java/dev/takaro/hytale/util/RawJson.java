@@ -0,0 +1,55 @@
+package dev.takaro.hytale.util;
+
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Already-serialized JSON value that Gson writes verbatim instead of re-serializing.
+ * Used for payloads that are cached as JSON text, e.g. player descriptors.
+ * The text must be a single valid JSON value.
+ */
+public final class RawJson {
+    private final String json;
+
+    public RawJson(String json) {
+        this.json = json;
+    }
+
+    public String getJson() {
+        return json;
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+
+    /**
+     * Register with {@code GsonBuilder.registerTypeAdapter(RawJson.class, RawJson.ADAPTER)}
+     */
+    public static final TypeAdapter<RawJson> ADAPTER = new TypeAdapter<RawJson>() {
+        @Override
+        public void write(JsonWriter out, RawJson value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+            } else {
+                out.jsonValue(value.json);
+            }
+        }
+
+        @Override
+        public RawJson read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            // Captures the value as compact JSON text
+            return new RawJson(JsonParser.parseReader(in).toString());
+        }
+    };
+}
@@ -0,0 +1,46 @@
+package dev.takaro.hytale.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, kept as a single "theoretical arrival time" (the GCRA form):
+ * each permit pushes it forward by one emission interval, and a permit is refused when
+ * that would put it more than {@code burst} intervals ahead of now. Equivalent to a
+ * bucket of {@code burst} tokens refilled at {@code ratePerSecond}, with one CAS per call.
+ */
+public final class TokenBucket {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong arrival;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / Math.max(1e-6, ratePerSecond)));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        // Start full
+        this.arrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Take one permit if available. Never blocks.
+     */
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give back a permit taken by {@link #tryAcquire()} that ended up unused
+     */
+    public void release() {
+        arrival.addAndGet(-intervalNanos);
+    }
+}
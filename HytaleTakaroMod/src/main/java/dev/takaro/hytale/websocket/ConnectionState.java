@@ -0,0 +1,22 @@
+package dev.takaro.hytale.websocket;
+
+/**
+ * Lifecycle of a Takaro connection.
+ * CONNECTING -&gt; IDENTIFYING -&gt; READY, any live state -&gt; BACKOFF on close, BACKOFF -&gt; CONNECTING
+ * when the reconnect fires, and anything -&gt; CLOSED on shutdown (terminal).
+ */
+public enum ConnectionState {
+    CONNECTING,   // Socket handshake in progress
+    IDENTIFYING,  // Socket open, waiting for identifyResponse
+    READY,        // Identified - live traffic flows, outbox replayed
+    BACKOFF,      // Disconnected, exactly one reconnect scheduled
+    CLOSED;       // Shut down - never reconnects
+
+    /**
+     * Notified after every state change, on the thread that made it. Must not block.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onStateChange(TakaroWebSocket webSocket, ConnectionState from, ConnectionState to);
+    }
+}
@@ -0,0 +1,392 @@
+package dev.takaro.hytale.websocket;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of encoded gameEvent frames, stored in fixed-size memory-mapped
+ * segment files. Used instead of the in-memory {@link EventOutbox} when enabled, so events
+ * raised during a long outage survive in page cache / on disk rather than heap, and
+ * across a server restart.
+ * <p>
+ * Segment layout: {@code [magic][read offset]} header, then records of
+ * {@code [length][crc32][payload]}. A zero length marks the end of written data, and the
+ * read offset is updated in place as records are replayed. Records that fail their
+ * checksum (torn write after a crash) end the segment's readable data.
+ * <p>
+ * Replay is two-phase: {@link #nextBatch} reads records without consuming them and
+ * {@link #commit} consumes them once they are known to be written to the socket, so a
+ * connection lost mid-replay loses nothing. One batch is outstanding at a time.
+ * <p>
+ * Segments are not msync'd on rotation; written pages survive a process crash in the page
+ * cache and are flushed by the OS (and on {@link #close}).
+ * <p>
+ * Not thread-safe on its own; callers hold the connection's outbox lock.
+ */
+public class EventJournal implements Closeable {
+    private static final int MAGIC = 0x544B4A31; // "TKJ1"
+    private static final int SEGMENT_HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long maxBytes;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>(); // Oldest first
+    private final CRC32 crc = new CRC32();
+    private long nextSequence = 0;
+    private long totalBytes = 0;
+    private long pendingCount = 0;
+    private long droppedCount = 0;
+
+    /**
+     * Records read by {@link #nextBatch} and not yet committed
+     */
+    public static final class Batch {
+        private final Segment segment;
+        private final int start;
+        private final int end;
+        private final List<byte[]> frames;
+
+        private Batch(Segment segment, int start, int end, List<byte[]> frames) {
+            this.segment = segment;
+            this.start = start;
+            this.end = end;
+            this.frames = frames;
+        }
+
+        public List<byte[]> getFrames() {
+            return frames;
+        }
+    }
+
+    /**
+     * Open (or create) the journal in {@code directory}, recovering any unreplayed records
+     * @param segmentBytes size of new segment files; existing ones keep the size they were created with
+     * @param maxBytes cap on total journal size; the oldest segment is discarded to stay under it
+     */
+    public EventJournal(Path directory, int segmentBytes, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = Math.max(64 * 1024, segmentBytes);
+        this.maxBytes = Math.max(2L * this.segmentBytes, maxBytes);
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        // Zero-padded sequence numbers sort in creation order
+        Collections.sort(files);
+
+        for (Path file : files) {
+            long sequence = parseSequence(file);
+            nextSequence = Math.max(nextSequence, sequence + 1);
+            Segment segment = sequence < 0 ? null : Segment.open(file);
+            if (segment == null || !segment.scan(crc)) {
+                deleteQuietly(file);
+                continue;
+            }
+            if (segment.readOffset >= segment.writeOffset) {
+                // Fully replayed before shutdown
+                segment.close();
+                deleteQuietly(file);
+                continue;
+            }
+            pendingCount += segment.countUnread();
+            totalBytes += segment.capacity();
+            segments.addLast(segment);
+        }
+    }
+
+    /**
+     * Append a frame
+     * @return false if the frame can never fit in a segment and was dropped
+     */
+    public boolean append(byte[] frame) throws IOException {
+        int recordBytes = RECORD_HEADER_BYTES + frame.length;
+        if (recordBytes > segmentBytes - SEGMENT_HEADER_BYTES) {
+            droppedCount++;
+            return false;
+        }
+
+        Segment tail = segments.peekLast();
+        if (tail == null || tail.writeOffset + recordBytes > tail.capacity()) {
+            tail = rotate();
+        }
+
+        MappedByteBuffer buffer = tail.buffer;
+        int offset = tail.writeOffset;
+        crc.reset();
+        crc.update(frame, 0, frame.length);
+        buffer.put(offset + RECORD_HEADER_BYTES, frame);
+        buffer.putInt(offset + 4, (int) crc.getValue());
+        // Length last: a crash before this point leaves the record unreadable, not half-read
+        buffer.putInt(offset, frame.length);
+        tail.writeOffset += recordBytes;
+        if (tail.writeOffset + 4 <= tail.capacity()) {
+            // Terminator, in case a reused segment still holds older bytes past this point
+            buffer.putInt(tail.writeOffset, 0);
+        }
+        pendingCount++;
+        return true;
+    }
+
+    /**
+     * Start a new segment, discarding the oldest if the journal is at its size cap
+     */
+    private Segment rotate() throws IOException {
+        while (!segments.isEmpty() && totalBytes + segmentBytes > maxBytes) {
+            Segment oldest = segments.pollFirst();
+            long lost = oldest.countUnread();
+            pendingCount -= lost;
+            droppedCount += lost;
+            totalBytes -= oldest.capacity();
+            oldest.close();
+            deleteQuietly(oldest.path);
+        }
+        long sequence = nextSequence++;
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        Segment segment = Segment.create(file, segmentBytes);
+        segments.addLast(segment);
+        totalBytes += segment.capacity();
+        return segment;
+    }
+
+    /**
+     * Read the oldest unreplayed records without consuming them. A batch never spans
+     * segments, and always holds at least one record.
+     * @return the batch, or null if nothing is waiting
+     */
+    public Batch nextBatch(int maxFrames, int maxBytes) {
+        while (!segments.isEmpty()) {
+            Segment head = segments.peekFirst();
+            if (head.readOffset >= head.writeOffset) {
+                if (head == segments.peekLast()) {
+                    return null;
+                }
+                removeHead(head);
+                continue;
+            }
+
+            List<byte[]> frames = new ArrayList<>();
+            int offset = head.readOffset;
+            int bytes = 0;
+            while (offset < head.writeOffset && frames.size() < maxFrames && (frames.isEmpty() || bytes < maxBytes)) {
+                int length = head.buffer.getInt(offset);
+                byte[] frame = new byte[length];
+                head.buffer.get(offset + RECORD_HEADER_BYTES, frame);
+                frames.add(frame);
+                bytes += length;
+                offset += RECORD_HEADER_BYTES + length;
+            }
+            return new Batch(head, head.readOffset, offset, frames);
+        }
+        return null;
+    }
+
+    /**
+     * Consume a batch from {@link #nextBatch}. Ignored if its segment was discarded by the
+     * size cap in the meantime (those records are already counted as dropped).
+     */
+    public void commit(Batch batch) {
+        Segment head = segments.peekFirst();
+        if (head != batch.segment || head.readOffset != batch.start) {
+            return;
+        }
+        head.readOffset = batch.end;
+        head.buffer.putInt(4, head.readOffset);
+        pendingCount -= batch.frames.size();
+        if (head.readOffset < head.writeOffset) {
+            return;
+        }
+
+        if (head == segments.peekLast()) {
+            // Active segment: rewind and keep writing into it
+            head.readOffset = SEGMENT_HEADER_BYTES;
+            head.writeOffset = SEGMENT_HEADER_BYTES;
+            head.buffer.putInt(SEGMENT_HEADER_BYTES, 0);
+            head.buffer.putInt(4, SEGMENT_HEADER_BYTES);
+        } else {
+            removeHead(head);
+        }
+    }
+
+    private void removeHead(Segment head) {
+        segments.pollFirst();
+        totalBytes -= head.capacity();
+        head.close();
+        deleteQuietly(head.path);
+    }
+
+    public boolean isEmpty() {
+        return pendingCount == 0;
+    }
+
+    /**
+     * Records waiting to be replayed
+     */
+    public long size() {
+        return pendingCount;
+    }
+
+    /**
+     * Records lost to the size cap or too large to journal
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Read and reset the dropped counter (used when reporting after a replay)
+     */
+    public long takeDroppedCount() {
+        long dropped = droppedCount;
+        droppedCount = 0;
+        return dropped;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+            segment.close();
+        }
+        segments.clear();
+    }
+
+    private static long parseSequence(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Still mapped on some platforms (Windows) - recovery removes it on the next start
+        }
+    }
+
+    /**
+     * One mapped segment file
+     */
+    private static final class Segment {
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        int readOffset = SEGMENT_HEADER_BYTES;
+        int writeOffset = SEGMENT_HEADER_BYTES;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path path, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, SEGMENT_HEADER_BYTES);
+            buffer.putInt(SEGMENT_HEADER_BYTES, 0);
+            return new Segment(path, channel, buffer);
+        }
+
+        /**
+         * Map an existing segment at the size it was created with
+         * @return the segment, or null if the file isn't a usable segment
+         */
+        static Segment open(Path path) throws IOException {
+            long size = Files.size(path);
+            if (size < SEGMENT_HEADER_BYTES || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (buffer.getInt(0) != MAGIC) {
+                channel.close();
+                return null;
+            }
+            return new Segment(path, channel, buffer);
+        }
+
+        /**
+         * Find the end of valid data and restore the read offset
+         * @return false if the header is unusable
+         */
+        boolean scan(CRC32 crc) {
+            int size = buffer.capacity();
+            int offset = SEGMENT_HEADER_BYTES;
+            while (offset + RECORD_HEADER_BYTES <= size) {
+                int length = buffer.getInt(offset);
+                if (length <= 0 || offset + RECORD_HEADER_BYTES + length > size) {
+                    break;
+                }
+                byte[] frame = new byte[length];
+                buffer.get(offset + RECORD_HEADER_BYTES, frame);
+                crc.reset();
+                crc.update(frame, 0, length);
+                if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                    break;
+                }
+                offset += RECORD_HEADER_BYTES + length;
+            }
+            writeOffset = offset;
+
+            int savedRead = buffer.getInt(4);
+            if (savedRead < SEGMENT_HEADER_BYTES) {
+                close();
+                return false;
+            }
+            readOffset = Math.min(savedRead, writeOffset);
+            return true;
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        long countUnread() {
+            long count = 0;
+            int offset = readOffset;
+            while (offset < writeOffset) {
+                offset += RECORD_HEADER_BYTES + buffer.getInt(offset);
+                count++;
+            }
+            return count;
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nothing to do
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package dev.takaro.hytale.websocket;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded FIFO of UTF-8 encoded gameEvent frames for a single Takaro connection.
+ * Events are held here while the socket is down or not yet identified, and
+ * replayed in order once Takaro confirms identity.
+ */
+public class EventOutbox {
+    public enum DropPolicy {
+        DROP_OLDEST, // Evict the oldest queued event to make room
+        DROP_NEWEST  // Reject the incoming event and keep what is queued
+    }
+
+    private final ArrayDeque<byte[]> frames;
+    private final int capacity;
+    private final DropPolicy dropPolicy;
+    private long droppedCount = 0;
+
+    public EventOutbox(int capacity, DropPolicy dropPolicy) {
+        this.capacity = Math.max(0, capacity);
+        this.dropPolicy = dropPolicy;
+        this.frames = new ArrayDeque<>(Math.min(this.capacity, 1024));
+    }
+
+    /**
+     * Queue a frame, applying the drop policy when full
+     * @return true if the frame was queued
+     */
+    public synchronized boolean offer(byte[] frame) {
+        if (capacity == 0) {
+            droppedCount++;
+            return false;
+        }
+        if (frames.size() >= capacity) {
+            droppedCount++;
+            if (dropPolicy == DropPolicy.DROP_NEWEST) {
+                return false;
+            }
+            frames.pollFirst();
+        }
+        frames.addLast(frame);
+        return true;
+    }
+
+    public synchronized byte[] peek() {
+        return frames.peekFirst();
+    }
+
+    public synchronized byte[] poll() {
+        return frames.pollFirst();
+    }
+
+    /**
+     * Remove up to {@code maxFrames} of the oldest frames (and at least one, if any are
+     * queued) totalling no more than about {@code maxBytes}
+     */
+    public synchronized List<byte[]> takeBatch(int maxFrames, int maxBytes) {
+        List<byte[]> batch = new ArrayList<>();
+        int bytes = 0;
+        while (!frames.isEmpty() && batch.size() < maxFrames && (batch.isEmpty() || bytes < maxBytes)) {
+            byte[] frame = frames.pollFirst();
+            batch.add(frame);
+            bytes += frame.length;
+        }
+        return batch;
+    }
+
+    /**
+     * Put a batch from {@link #takeBatch} back at the front, in order, after a failed replay.
+     * May briefly exceed the capacity; the next offers apply the drop policy as usual.
+     */
+    public synchronized void restore(List<byte[]> batch) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            frames.addFirst(batch.get(i));
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return frames.isEmpty();
+    }
+
+    public synchronized int size() {
+        return frames.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Read and reset the dropped counter (used when reporting after a replay)
+     */
+    public synchronized long takeDroppedCount() {
+        long dropped = droppedCount;
+        droppedCount = 0;
+        return dropped;
+    }
+}
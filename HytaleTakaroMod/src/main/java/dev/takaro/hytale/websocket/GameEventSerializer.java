@@ -0,0 +1,42 @@
+package dev.takaro.hytale.websocket;
+
+import dev.takaro.hytale.events.GameEvent;
+import dev.takaro.hytale.util.JsonText;
+
+/**
+ * Writes gameEvent frames into a per-thread reusable buffer.
+ * Events come from the chat, world and log threads, so each keeps its own buffer;
+ * the only allocation per event is the final frame string.
+ */
+public final class GameEventSerializer {
+    private static final int INITIAL_CAPACITY = 512;
+    // Don't keep a buffer grown by one huge log batch pinned for the life of the thread
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER =
+        ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+
+    private GameEventSerializer() {
+    }
+
+    /**
+     * Serialize {@code event} as a complete {"type":"gameEvent","payload":{...}} frame
+     */
+    public static String toFrame(GameEvent event) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        out.ensureCapacity(48 + event.type().length() + event.sizeHint());
+
+        out.append("{\"type\":\"gameEvent\",\"payload\":{\"type\":");
+        JsonText.appendString(out, event.type());
+        out.append(",\"data\":");
+        event.writeData(out);
+        out.append("}}");
+
+        String frame = out.toString();
+        if (out.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.set(new StringBuilder(INITIAL_CAPACITY));
+        }
+        return frame;
+    }
+}
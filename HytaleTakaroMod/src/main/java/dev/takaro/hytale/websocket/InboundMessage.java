@@ -0,0 +1,149 @@
+package dev.takaro.hytale.websocket;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A frame received from Takaro, decoded in one streaming pass.
+ * Only the envelope fields, the payload's scalars and the action args are kept -
+ * no intermediate JsonObject trees are built.
+ */
+public final class InboundMessage {
+    private final String type;
+    private final String requestId;
+    private final String action;
+    private final boolean hasArgs;
+    private final MessageFields payload;
+    private final MessageFields args;
+
+    private InboundMessage(String type, String requestId, String action, boolean hasArgs, MessageFields payload, MessageFields args) {
+        this.type = type;
+        this.requestId = requestId;
+        this.action = action;
+        this.hasArgs = hasArgs;
+        this.payload = payload;
+        this.args = args;
+    }
+
+    /**
+     * Decode a raw frame.
+     * {@code payload.args} may be an object or, as Takaro sends it, a JSON string - the string
+     * is read with its own reader straight into fields, without going through a tree.
+     */
+    public static InboundMessage decode(String frame) throws IOException {
+        JsonReader reader = new JsonReader(new StringReader(frame));
+        reader.setLenient(true);
+
+        String type = null;
+        String requestId = null;
+        String action = null;
+        boolean hasArgs = false;
+        MessageFields payload = MessageFields.EMPTY;
+        MessageFields args = MessageFields.EMPTY;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "type":
+                    type = nextScalar(reader);
+                    break;
+                case "requestId":
+                    requestId = nextScalar(reader);
+                    break;
+                case "payload":
+                    if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                        reader.skipValue();
+                        break;
+                    }
+                    // Read the payload envelope ourselves so "action" and "args" are pulled out
+                    // and everything else lands in the payload fields
+                    Map<String, String> rest = new HashMap<>();
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String name = reader.nextName();
+                        if ("action".equals(name)) {
+                            action = nextScalar(reader);
+                        } else if ("args".equals(name)) {
+                            JsonToken token = reader.peek();
+                            if (token == JsonToken.STRING) {
+                                hasArgs = true;
+                                args = MessageFields.parse(reader.nextString());
+                            } else if (token == JsonToken.BEGIN_OBJECT) {
+                                hasArgs = true;
+                                args = MessageFields.read(reader);
+                            } else {
+                                reader.skipValue();
+                            }
+                        } else {
+                            MessageFields.readValue(reader, name, rest);
+                        }
+                    }
+                    reader.endObject();
+                    payload = MessageFields.of(rest);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new InboundMessage(type, requestId, action, hasArgs, payload, args);
+    }
+
+    /**
+     * String form of a scalar value; null for JSON null, skipped arrays and objects
+     */
+    private static String nextScalar(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+                return reader.nextString();
+            case BOOLEAN:
+                return String.valueOf(reader.nextBoolean());
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * Action name of a request frame
+     */
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * Whether the payload carried an args object (or args string)
+     */
+    public boolean hasArgs() {
+        return hasArgs;
+    }
+
+    /**
+     * Top-level payload fields other than action and args
+     */
+    public MessageFields getPayload() {
+        return payload;
+    }
+
+    /**
+     * Action arguments, flattened to dotted paths
+     */
+    public MessageFields getArgs() {
+        return args;
+    }
+}
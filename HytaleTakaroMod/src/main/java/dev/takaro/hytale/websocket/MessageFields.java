@@ -0,0 +1,157 @@
+package dev.takaro.hytale.websocket;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Scalar fields of a JSON object, flattened to dotted paths while streaming
+ * ({@code {"opts":{"recipient":{"gameId":"x"}}}} becomes {@code opts.recipient.gameId = x}).
+ * Numbers and booleans keep their literal text; arrays of scalars become one newline-joined
+ * value (word lists), other array elements are skipped.
+ */
+public final class MessageFields {
+    public static final MessageFields EMPTY = new MessageFields(Map.of());
+
+    private final Map<String, String> values;
+
+    private MessageFields(Map<String, String> values) {
+        this.values = values;
+    }
+
+    /**
+     * Decode a JSON object held in a string (Takaro sends action args this way)
+     */
+    public static MessageFields parse(String json) throws IOException {
+        if (json == null || json.isBlank()) {
+            return EMPTY;
+        }
+        JsonReader reader = new JsonReader(new StringReader(json));
+        reader.setLenient(true);
+        return reader.peek() == JsonToken.BEGIN_OBJECT ? read(reader) : EMPTY;
+    }
+
+    /**
+     * Read the object at the reader's position
+     */
+    public static MessageFields read(JsonReader reader) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        readObject(reader, "", values);
+        return new MessageFields(values);
+    }
+
+    static MessageFields of(Map<String, String> values) {
+        return values.isEmpty() ? EMPTY : new MessageFields(values);
+    }
+
+    private static void readObject(JsonReader reader, String prefix, Map<String, String> values) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            readValue(reader, prefix + reader.nextName(), values);
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Read the value at the reader's position into {@code values} under {@code key}
+     */
+    static void readValue(JsonReader reader, String key, Map<String, String> values) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                readObject(reader, key + ".", values);
+                break;
+            case STRING:
+            case NUMBER:
+                values.put(key, reader.nextString());
+                break;
+            case BOOLEAN:
+                values.put(key, String.valueOf(reader.nextBoolean()));
+                break;
+            case BEGIN_ARRAY:
+                values.put(key, readScalarArray(reader));
+                break;
+            default:
+                // null
+                reader.skipValue();
+        }
+    }
+
+    private static String readScalarArray(JsonReader reader) throws IOException {
+        StringBuilder joined = new StringBuilder();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            JsonToken token = reader.peek();
+            if (token == JsonToken.STRING || token == JsonToken.NUMBER || token == JsonToken.BOOLEAN) {
+                if (joined.length() > 0) {
+                    joined.append('\n');
+                }
+                joined.append(token == JsonToken.BOOLEAN ? String.valueOf(reader.nextBoolean()) : reader.nextString());
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endArray();
+        return joined.toString();
+    }
+
+    /**
+     * Whether {@code key} is present as a scalar or as an object with scalar fields
+     */
+    public boolean has(String key) {
+        if (values.containsKey(key)) {
+            return true;
+        }
+        String prefix = key + ".";
+        for (String name : values.keySet()) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the value at {@code key}, or null if absent
+     */
+    public String getString(String key) {
+        return values.get(key);
+    }
+
+    public String getString(String key, String defaultValue) {
+        String value = values.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the field is missing
+     */
+    public String require(String key) {
+        String value = values.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required argument: " + key);
+        }
+        return value;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        return value != null ? (int) Double.parseDouble(value) : defaultValue;
+    }
+
+    public double requireDouble(String key) {
+        return Double.parseDouble(require(key));
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
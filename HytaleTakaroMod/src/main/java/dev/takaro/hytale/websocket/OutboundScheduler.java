@@ -0,0 +1,206 @@
+package dev.takaro.hytale.websocket;
+
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Prioritized outbound writer for one Takaro connection.
+ * UTF-8 encoded frames wait in per-priority lanes and a single writer thread drains
+ * them by weight, only handing the socket a frame once its own write queue is empty.
+ * The socket's queue is FIFO, so keeping it shallow is what lets a response overtake
+ * a log burst.
+ */
+public class OutboundScheduler {
+    public enum Lane {
+        RESPONSE(8),   // Request responses a Takaro module is waiting on
+        LIFECYCLE(4),  // Player connect/disconnect/death
+        CHAT(2),
+        LOG(1),        // Console output - bounded, dropped under pressure
+        REPLAY(2);     // Backlog replayed after identify - behind responses, never ahead of them
+
+        private final int weight;
+
+        Lane(int weight) {
+            this.weight = weight;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        /**
+         * Lane for a gameEvent of the given type
+         */
+        public static Lane forEvent(String eventType) {
+            switch (eventType) {
+                case "log":
+                    return LOG;
+                case "chat-message":
+                    return CHAT;
+                default:
+                    return LIFECYCLE;
+            }
+        }
+    }
+
+    private static final Lane[] LANES = Lane.values();
+    private static final long IDLE_PARK_NANOS = 50_000_000L;      // 50ms - offers unpark the writer anyway
+    private static final long BACKPRESSURE_PARK_NANOS = 200_000L; // 0.2ms while the socket drains its queue
+
+    private final TakaroWebSocket socket;
+    @SuppressWarnings("unchecked")
+    private final ConcurrentLinkedQueue<byte[]>[] lanes = new ConcurrentLinkedQueue[LANES.length];
+    private final AtomicInteger logSize = new AtomicInteger();
+    private final int logCapacity;
+    private final AtomicLong droppedLogs = new AtomicLong();
+    private final AtomicLong[] written = new AtomicLong[LANES.length];
+    // Remaining sends per lane in the current round - only touched by the writer thread
+    private final int[] credits = new int[LANES.length];
+    // Lane of the frame last returned by next() - only touched by the writer thread
+    private int currentLane;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public OutboundScheduler(TakaroWebSocket socket, int logCapacity, String threadName) {
+        this.socket = socket;
+        this.logCapacity = Math.max(1, logCapacity);
+        for (Lane lane : LANES) {
+            lanes[lane.ordinal()] = new ConcurrentLinkedQueue<>();
+            written[lane.ordinal()] = new AtomicLong();
+        }
+        refillCredits();
+        this.writer = new Thread(this::writeLoop, threadName);
+        this.writer.setDaemon(true);
+    }
+
+    public void start() {
+        writer.start();
+    }
+
+    public void stop() {
+        running = false;
+        LockSupport.unpark(writer);
+    }
+
+    /**
+     * Queue a frame on {@code lane}
+     * @return false if the frame was dropped (log lane full)
+     */
+    public boolean offer(Lane lane, byte[] frame) {
+        if (lane == Lane.LOG && logSize.incrementAndGet() > logCapacity) {
+            logSize.decrementAndGet();
+            droppedLogs.incrementAndGet();
+            return false;
+        }
+        lanes[lane.ordinal()].offer(frame);
+        LockSupport.unpark(writer);
+        return true;
+    }
+
+    /**
+     * Remove every frame waiting on {@code lane}, oldest first
+     * @return number of frames removed
+     */
+    public int drain(Lane lane, Consumer<byte[]> consumer) {
+        int drained = 0;
+        byte[] frame;
+        while ((frame = poll(lane)) != null) {
+            consumer.accept(frame);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int getPendingCount(Lane lane) {
+        return lane == Lane.LOG ? logSize.get() : lanes[lane.ordinal()].size();
+    }
+
+    public long getDroppedLogCount() {
+        return droppedLogs.get();
+    }
+
+    /**
+     * Frames from {@code lane} handed to the socket so far (sendText returned)
+     */
+    public long getWrittenCount(Lane lane) {
+        return written[lane.ordinal()].get();
+    }
+
+    private void writeLoop() {
+        while (running) {
+            if (!socket.isOpen() || isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            // Wait for the socket to flush before choosing, so the choice reflects current priorities
+            if (socket.hasBufferedData()) {
+                LockSupport.parkNanos(this, BACKPRESSURE_PARK_NANOS);
+                continue;
+            }
+
+            byte[] frame = next();
+            if (frame == null) {
+                continue;
+            }
+            try {
+                socket.sendText(frame);
+                written[currentLane].incrementAndGet();
+            } catch (WebsocketNotConnectedException e) {
+                // Closed between the check and the send - the frame is lost with the connection
+            } catch (RuntimeException e) {
+                // Keep the writer alive; nothing useful to report without looping through the log forwarder
+            }
+        }
+    }
+
+    /**
+     * Weighted round robin: each lane sends up to its weight per round, highest priority
+     * first. Lanes with nothing queued don't hold up the round.
+     */
+    private byte[] next() {
+        for (int pass = 0; pass < 2; pass++) {
+            for (Lane lane : LANES) {
+                int i = lane.ordinal();
+                if (credits[i] > 0) {
+                    byte[] frame = poll(lane);
+                    if (frame != null) {
+                        credits[i]--;
+                        currentLane = i;
+                        return frame;
+                    }
+                }
+            }
+            // Every lane with work has spent its share - start a new round
+            refillCredits();
+        }
+        return null;
+    }
+
+    private byte[] poll(Lane lane) {
+        byte[] frame = lanes[lane.ordinal()].poll();
+        if (frame != null && lane == Lane.LOG) {
+            logSize.decrementAndGet();
+        }
+        return frame;
+    }
+
+    private boolean isEmpty() {
+        for (ConcurrentLinkedQueue<byte[]> lane : lanes) {
+            if (!lane.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void refillCredits() {
+        for (Lane lane : LANES) {
+            credits[lane.ordinal()] = lane.getWeight();
+        }
+    }
+}
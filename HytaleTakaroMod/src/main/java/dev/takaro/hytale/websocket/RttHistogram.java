@@ -0,0 +1,77 @@
+package dev.takaro.hytale.websocket;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Round-trip times of WebSocket pings in power-of-two millisecond buckets
+ * (&lt;1ms, &lt;2ms, &lt;4ms, ... &lt;32s, then overflow). Percentiles are reported as the
+ * upper bound of the bucket they fall in, which is plenty for spotting a degrading link.
+ */
+public class RttHistogram {
+    private static final int BUCKETS = 17;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sumNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private volatile long lastNanos = -1;
+
+    public void record(long rttNanos) {
+        if (rttNanos < 0) {
+            return;
+        }
+        counts.incrementAndGet(bucketFor(rttNanos));
+        total.incrementAndGet();
+        sumNanos.addAndGet(rttNanos);
+        maxNanos.accumulateAndGet(rttNanos, Math::max);
+        lastNanos = rttNanos;
+    }
+
+    private static int bucketFor(long rttNanos) {
+        long millis = rttNanos / 1_000_000L;
+        // Bucket i holds [2^(i-1), 2^i) ms; bucket 0 is sub-millisecond
+        int bucket = millis == 0 ? 0 : 64 - Long.numberOfLeadingZeros(millis);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    public long getCount() {
+        return total.get();
+    }
+
+    /**
+     * @return most recent RTT in milliseconds, or -1 if none yet
+     */
+    public double getLastMillis() {
+        long last = lastNanos;
+        return last < 0 ? -1 : last / 1_000_000.0;
+    }
+
+    public double getAverageMillis() {
+        long count = total.get();
+        return count == 0 ? 0 : sumNanos.get() / (double) count / 1_000_000.0;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Upper bound (ms) of the bucket holding the given percentile (0-100), or -1 if empty
+     */
+    public long getPercentileMillis(double percentile) {
+        long count = total.get();
+        if (count == 0) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return i == BUCKETS - 1 ? (long) getMaxMillis() : 1L << i;
+            }
+        }
+        return (long) getMaxMillis();
+    }
+}
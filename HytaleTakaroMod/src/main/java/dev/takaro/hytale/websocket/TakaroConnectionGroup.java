@@ -0,0 +1,104 @@
+package dev.takaro.hytale.websocket;
+
+import dev.takaro.hytale.TakaroPlugin;
+import dev.takaro.hytale.config.TakaroConfig;
+import dev.takaro.hytale.config.TakaroEndpoint;
+import dev.takaro.hytale.events.GameEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * All Takaro connections the plugin maintains, one per configured endpoint.
+ * A game event is serialized and encoded once, then the same bytes are queued on every
+ * endpoint that accepts its type. Each connection has its own outbox and writer, so a
+ * slow or disconnected endpoint never holds up the others.
+ */
+public class TakaroConnectionGroup {
+    private final TakaroPlugin plugin;
+    // Copy-on-write: written once at startup, iterated for every event from many threads
+    private final List<TakaroWebSocket> connections = new CopyOnWriteArrayList<>();
+
+    public TakaroConnectionGroup(TakaroPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Create and connect a socket for every endpoint in the config
+     */
+    public void connectAll(TakaroConfig config) {
+        for (TakaroEndpoint endpoint : config.getEndpoints()) {
+            try {
+                TakaroWebSocket webSocket = new TakaroWebSocket(plugin, config, endpoint);
+                webSocket.addStateListener(this::onStateChange);
+                connections.add(webSocket);
+                webSocket.connect();
+                plugin.getLogger().at(java.util.logging.Level.INFO).log("Connecting to Takaro (" + endpoint.getName() + ") at " + endpoint.getUrl()
+                    + (endpoint.getExcludedEvents().isEmpty() ? "" : ", excluding events " + endpoint.getExcludedEvents()));
+            } catch (Exception e) {
+                plugin.getLogger().at(java.util.logging.Level.SEVERE).log("Failed to start WebSocket connection (" + endpoint.getName() + "): " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void onStateChange(TakaroWebSocket webSocket, ConnectionState from, ConnectionState to) {
+        // FINE so state churn during an outage doesn't feed back through the log forwarder
+        plugin.getLogger().at(java.util.logging.Level.FINE).log("Takaro (" + webSocket.getEndpoint().getName() + ") " + from + " -> " + to);
+    }
+
+    /**
+     * Endpoints currently identified and accepting live traffic
+     */
+    public int getReadyCount() {
+        int ready = 0;
+        for (TakaroWebSocket webSocket : connections) {
+            if (webSocket.getState() == ConnectionState.READY) {
+                ready++;
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * Send a game event to every endpoint whose filter accepts it
+     */
+    public void publish(GameEvent event) {
+        String eventType = event.type();
+        byte[] frame = null;
+        for (TakaroWebSocket webSocket : connections) {
+            if (!webSocket.getEndpoint().accepts(eventType)) {
+                continue;
+            }
+            if (frame == null) {
+                // Serialize lazily so events no endpoint wants cost nothing
+                frame = GameEventSerializer.toFrame(event).getBytes(StandardCharsets.UTF_8);
+            }
+            webSocket.sendGameEventFrame(eventType, frame);
+        }
+    }
+
+    /**
+     * Connection for the named endpoint, or null if not configured
+     */
+    public TakaroWebSocket get(String endpointName) {
+        for (TakaroWebSocket webSocket : connections) {
+            if (webSocket.getEndpoint().getName().equals(endpointName)) {
+                return webSocket;
+            }
+        }
+        return null;
+    }
+
+    public List<TakaroWebSocket> getConnections() {
+        return Collections.unmodifiableList(connections);
+    }
+
+    public void shutdown() {
+        for (TakaroWebSocket webSocket : connections) {
+            webSocket.shutdown();
+        }
+    }
+}
@@ -1,66 +1,174 @@
 package dev.takaro.hytale.websocket;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonObject;
+import com.google.gson.GsonBuilder;
 import dev.takaro.hytale.TakaroPlugin;
 import dev.takaro.hytale.config.TakaroConfig;
+import dev.takaro.hytale.config.TakaroEndpoint;
+import dev.takaro.hytale.events.GameEvent;
+import dev.takaro.hytale.util.RawJson;
+import org.java_websocket.WebSocket;
 import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.drafts.Draft;
+import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.extensions.permessage_deflate.PerMessageDeflateExtension;
+import org.java_websocket.framing.CloseFrame;
+import org.java_websocket.framing.Framedata;
+import org.java_websocket.framing.PingFrame;
+import org.java_websocket.framing.TextFrame;
 import org.java_websocket.handshake.ServerHandshake;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class TakaroWebSocket extends WebSocketClient {
     private final TakaroPlugin plugin;
     private final TakaroConfig config;
     private final Gson gson;
-    private final boolean isDev; // true for dev Takaro, false for production
-    private boolean isIdentified = false;
-    private int reconnectAttempts = 0;
+    private final TakaroEndpoint endpoint;
+    // Written from the WebSocket read thread, the reconnect scheduler and shutdown - only changed by CAS
+    private final AtomicReference<ConnectionState> state = new AtomicReference<>(ConnectionState.CONNECTING);
+    private final List<ConnectionState.Listener> stateListeners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger reconnectAttempts = new AtomicInteger();
     private static final int MAX_RECONNECT_DELAY = 60000; // 60 seconds
     private static final int BASE_RECONNECT_DELAY = 3000; // 3 seconds
+    private static final int REPLAY_BATCH_FRAMES = 256;
+    private static final int REPLAY_BATCH_BYTES = 256 * 1024;
+    private static final long REPLAY_CHECK_MILLIS = 5;
     private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    // Game events raised while disconnected/unidentified, replayed after identify
+    private final EventOutbox outbox;
+    // Optional on-disk replacement for the outbox, for outages longer than it can hold (null if disabled)
+    private final EventJournal journal;
+    // Live traffic, written by priority so log bursts can't delay responses
+    private final OutboundScheduler outbound;
+    // Bumped on every open, so a replay left over from an earlier connection stops
+    private final AtomicInteger connectionId = new AtomicInteger();
+    // Replay batch handed to the writer but not yet consumed from the backlog - guarded by outbox
+    private ReplayBatch replayBatch;
+    private int replayedCount;
+    // Liveness: anything received counts, and our own ping frames carry their send time for RTT
+    private volatile long lastInboundNanos = System.nanoTime();
+    private final RttHistogram rtt = new RttHistogram();
+    private final long livenessTimeoutNanos;
+    private volatile long forcedReconnects = 0;
+
+    /**
+     * Backlog frames on their way to the socket. Journal records are consumed, and outbox
+     * frames dropped, only once {@code writtenTarget} REPLAY frames have been written.
+     */
+    private record ReplayBatch(EventJournal.Batch journalBatch, List<byte[]> outboxFrames, int size, long writtenTarget) {
+    }
 
-    public TakaroWebSocket(TakaroPlugin plugin, TakaroConfig config, boolean isDev) throws Exception {
-        super(new URI(isDev ? config.getDevWsUrl() : config.getWsUrl()));
+    public TakaroWebSocket(TakaroPlugin plugin, TakaroConfig config, TakaroEndpoint endpoint) throws Exception {
+        super(new URI(endpoint.getUrl()), createDraft(config));
         this.plugin = plugin;
         this.config = config;
-        this.isDev = isDev;
-        this.gson = new Gson();
+        this.endpoint = endpoint;
+        // RawJson payloads (cached player descriptors etc.) are spliced in without re-serializing
+        this.gson = new GsonBuilder().registerTypeAdapter(RawJson.class, RawJson.ADAPTER).create();
+        this.outbox = new EventOutbox(config.getOutboxCapacity(), config.getOutboxDropPolicy());
+        this.journal = openJournal(plugin, config, endpoint);
+        this.outbound = new OutboundScheduler(this, config.getOutboundLogCapacity(), "Takaro-Writer-" + endpoint.getName());
+        this.outbound.start();
+
+        // Replace the library's fixed 60s lost-connection timer with our own ping watchdog
+        setConnectionLostTimeout(0);
+        this.livenessTimeoutNanos = TimeUnit.SECONDS.toNanos(Math.max(1, config.getLivenessTimeoutSeconds()));
+        long pingInterval = Math.max(1, config.getLivenessPingIntervalSeconds());
+        scheduler.scheduleWithFixedDelay(this::checkLiveness, pingInterval, pingInterval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Protocol draft, offering permessage-deflate when enabled. If the server declines
+     * the extension the handshake falls back to uncompressed frames.
+     */
+    private static Draft createDraft(TakaroConfig config) {
+        if (!config.isWsCompressionEnabled()) {
+            return new Draft_6455();
+        }
+        PerMessageDeflateExtension deflate = new PerMessageDeflateExtension();
+        // Small frames (pings, pongs, most responses) cost more to deflate than they save
+        deflate.setThreshold(config.getWsCompressionThreshold());
+        return new Draft_6455(Collections.singletonList(deflate));
+    }
+
+    /**
+     * One journal directory per endpoint, under the plugin data folder. Falls back to the
+     * in-memory outbox if the journal can't be opened.
+     */
+    private static EventJournal openJournal(TakaroPlugin plugin, TakaroConfig config, TakaroEndpoint endpoint) {
+        if (!config.isJournalEnabled()) {
+            return null;
+        }
+        try {
+            EventJournal journal = new EventJournal(
+                config.getDataDirectory().toPath().resolve("journal").resolve(endpoint.getName()),
+                config.getJournalSegmentBytes(), config.getJournalMaxBytes());
+            if (!journal.isEmpty()) {
+                plugin.getLogger().at(java.util.logging.Level.INFO).log("[Takaro] Recovered " + journal.size() + " journaled events for " + endpoint.getName());
+            }
+            return journal;
+        } catch (IOException e) {
+            plugin.getLogger().at(java.util.logging.Level.WARNING).log("[Takaro] Event journal unavailable for " + endpoint.getName() + ", using in-memory outbox: " + e.getMessage());
+            return null;
+        }
     }
 
     @Override
     public void onOpen(ServerHandshake handshake) {
-        plugin.getLogger().at(java.util.logging.Level.INFO).log(getLogPrefix() + "Connected to WebSocket");
-        reconnectAttempts = 0;
+        connectionId.incrementAndGet();
+        if (!transition(ConnectionState.CONNECTING, ConnectionState.IDENTIFYING)) {
+            // Shut down while the handshake was in flight
+            close();
+            return;
+        }
+        plugin.getLogger().at(java.util.logging.Level.INFO).log(getLogPrefix() + "Connected to WebSocket" + (isCompressed() ? " (permessage-deflate)" : ""));
+        reconnectAttempts.set(0);
+        lastInboundNanos = System.nanoTime();
         sendIdentify();
     }
 
     @Override
     public void onMessage(String message) {
+        lastInboundNanos = System.nanoTime();
         try {
-            JsonObject json = gson.fromJson(message, JsonObject.class);
-            String type = json.get("type").getAsString();
+            // Single streaming pass - request args are bound from this, not re-parsed per action
+            InboundMessage inbound = InboundMessage.decode(message);
+            String type = inbound.getType();
+            if (type == null) {
+                plugin.getLogger().at(java.util.logging.Level.WARNING).log("Message from Takaro without a type: " + message);
+                return;
+            }
 
             switch (type) {
                 case "identifyResponse":
-                    handleIdentifyResponse(json);
+                    handleIdentifyResponse(inbound, message);
                     break;
                 case "connected":
                     plugin.getLogger().at(java.util.logging.Level.INFO).log(getLogPrefix() + "Confirmed connection");
                     break;
                 case "request":
-                    handleTakaroRequest(json);
+                    handleTakaroRequest(inbound);
                     break;
                 case "ping":
                     sendPong();
                     break;
                 case "error":
-                    handleError(json);
+                    handleError(inbound, message);
                     break;
                 default:
                     plugin.getLogger().at(java.util.logging.Level.WARNING).log("Unknown message type from Takaro: " + type);
@@ -74,7 +182,16 @@ public void onMessage(String message) {
     @Override
     public void onClose(int code, String reason, boolean remote) {
         plugin.getLogger().at(java.util.logging.Level.WARNING).log(getLogPrefix() + "Disconnected: " + reason);
-        isIdentified = false;
+        synchronized (outbox) {
+            // Backlog not yet written stays queued; player events not written yet go back to
+            // the outbox for replay; responses are meaningless on a new connection and logs
+            // aren't worth replaying
+            abandonReplay();
+            outbound.drain(OutboundScheduler.Lane.LIFECYCLE, this::queueForReplay);
+            outbound.drain(OutboundScheduler.Lane.CHAT, this::queueForReplay);
+            outbound.drain(OutboundScheduler.Lane.RESPONSE, frame -> { });
+            outbound.drain(OutboundScheduler.Lane.LOG, frame -> { });
+        }
         scheduleReconnect();
     }
 
@@ -84,8 +201,61 @@ public void onError(Exception ex) {
         ex.printStackTrace();
     }
 
+    /**
+     * Ping Takaro, or force a reconnect if nothing has arrived within the deadline.
+     * A half-open TCP path (common behind NAT) never produces onClose by itself.
+     */
+    private void checkLiveness() {
+        try {
+            if (!isOpen()) {
+                return;
+            }
+            long silentNanos = System.nanoTime() - lastInboundNanos;
+            if (silentNanos > livenessTimeoutNanos) {
+                forcedReconnects++;
+                plugin.getLogger().at(java.util.logging.Level.WARNING).log(getLogPrefix() + "Nothing received for "
+                    + TimeUnit.NANOSECONDS.toSeconds(silentNanos) + "s - connection presumed dead, reconnecting");
+                // Goes through onClose, which schedules the reconnect; reconnect() closes the socket
+                closeConnection(CloseFrame.ABNORMAL_CLOSE, "Liveness deadline missed");
+                return;
+            }
+            sendPing();
+        } catch (Exception e) {
+            plugin.getLogger().at(java.util.logging.Level.FINE).log(getLogPrefix() + "Liveness check failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public PingFrame onPreparePing(WebSocket conn) {
+        PingFrame ping = new PingFrame();
+        ByteBuffer sentAt = ByteBuffer.allocate(Long.BYTES);
+        sentAt.putLong(System.nanoTime()).flip();
+        ping.setPayload(sentAt);
+        return ping;
+    }
+
+    @Override
+    public void onWebsocketPong(WebSocket conn, Framedata frame) {
+        long now = System.nanoTime();
+        lastInboundNanos = now;
+        ByteBuffer payload = frame.getPayloadData();
+        // Pongs echo the ping payload; ignore unsolicited pongs without our timestamp
+        if (payload != null && payload.remaining() == Long.BYTES) {
+            rtt.record(now - payload.getLong(payload.position()));
+        }
+    }
+
+    @Override
+    public void onWebsocketPing(WebSocket conn, Framedata frame) {
+        lastInboundNanos = System.nanoTime();
+        super.onWebsocketPing(conn, frame);
+    }
+
     private String getLogPrefix() {
-        return isDev ? "[Dev Takaro] " : "[Takaro] ";
+        if (endpoint.isPrimary()) {
+            return "[Takaro] ";
+        }
+        return TakaroConfig.DEV_ENDPOINT.equals(endpoint.getName()) ? "[Dev Takaro] " : "[Takaro " + endpoint.getName() + "] ";
     }
 
     private void sendIdentify() {
@@ -93,9 +263,8 @@ private void sendIdentify() {
         identify.put("type", "identify");
 
         Map<String, String> payload = new HashMap<>();
-        // Use dev credentials if this is dev connection
-        String identityToken = isDev ? config.getDevIdentityToken() : config.getIdentityToken();
-        String registrationToken = isDev ? config.getDevRegistrationToken() : config.getRegistrationToken();
+        String identityToken = endpoint.getIdentityToken();
+        String registrationToken = endpoint.getRegistrationToken();
 
         payload.put("identityToken", identityToken);
         if (!registrationToken.isEmpty()) {
@@ -108,44 +277,146 @@ private void sendIdentify() {
         send(gson.toJson(identify));
     }
 
-    private void handleIdentifyResponse(JsonObject message) {
-        JsonObject payload = message.getAsJsonObject("payload");
-        if (payload.has("error")) {
-            plugin.getLogger().at(java.util.logging.Level.SEVERE).log(getLogPrefix() + "Identification failed: " + payload.get("error").toString());
+    private void handleIdentifyResponse(InboundMessage inbound, String rawMessage) {
+        if (inbound.getPayload().has("error")) {
+            plugin.getLogger().at(java.util.logging.Level.SEVERE).log(getLogPrefix() + "Identification failed: " + rawMessage);
         } else {
             plugin.getLogger().at(java.util.logging.Level.INFO).log(getLogPrefix() + "Successfully identified");
-            isIdentified = true;
+            startReplay();
+        }
+    }
+
+    /**
+     * Replay queued game events in order, then mark the connection identified. Runs as a
+     * chain of steps on the scheduler thread, one bounded batch at a time through the
+     * writer's REPLAY lane, so responses still overtake the backlog. The outbox lock is only
+     * held within a step; live events keep queueing behind the backlog until READY, so they
+     * cannot overtake it.
+     */
+    private void startReplay() {
+        int connection = connectionId.get();
+        synchronized (outbox) {
+            replayedCount = 0;
+        }
+        scheduleReplayStep(connection, 0);
+    }
+
+    private void scheduleReplayStep(int connection, long delayMillis) {
+        try {
+            scheduler.schedule(() -> replayStep(connection), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Scheduler shut down - we're closing
         }
     }
 
-    private void handleTakaroRequest(JsonObject message) {
-        String requestId = message.get("requestId").getAsString();
-        JsonObject payload = message.getAsJsonObject("payload");
-        String action = payload.get("action").getAsString();
+    /**
+     * Consume the batch in flight once the socket has written it, then send the next one,
+     * or move to READY when nothing is left
+     */
+    private void replayStep(int connection) {
+        int replayed;
+        long dropped;
+        synchronized (outbox) {
+            if (connection != connectionId.get()) {
+                return; // A newer connection runs its own replay
+            }
+            if (state.get() != ConnectionState.IDENTIFYING || !isOpen()) {
+                abandonReplay();
+                return;
+            }
+            if (replayBatch != null) {
+                // Written to the socket's queue is not enough - wait until it has been flushed
+                if (outbound.getWrittenCount(OutboundScheduler.Lane.REPLAY) < replayBatch.writtenTarget() || hasBufferedData()) {
+                    scheduleReplayStep(connection, REPLAY_CHECK_MILLIS);
+                    return;
+                }
+                if (replayBatch.journalBatch() != null) {
+                    journal.commit(replayBatch.journalBatch());
+                }
+                replayedCount += replayBatch.size();
+                replayBatch = null;
+            }
+
+            replayBatch = nextReplayBatch();
+            if (replayBatch != null) {
+                scheduleReplayStep(connection, REPLAY_CHECK_MILLIS);
+                return;
+            }
 
-        plugin.getLogger().at(java.util.logging.Level.FINE).log(getLogPrefix() + "Received Takaro request: " + action);
+            replayed = replayedCount;
+            dropped = outbox.takeDroppedCount() + (journal != null ? journal.takeDroppedCount() : 0);
+            // Under the outbox lock, so no live event can slip in between replay and READY
+            if (!transition(ConnectionState.IDENTIFYING, ConnectionState.READY)) {
+                return;
+            }
+        }
+
+        if (replayed > 0 || dropped > 0) {
+            plugin.getLogger().at(java.util.logging.Level.INFO).log(getLogPrefix() + "Replayed " + replayed + " queued events (" + dropped + " dropped while disconnected)");
+        }
+    }
+
+    /**
+     * Take the next batch of backlog and hand it to the writer. Caller holds the outbox lock.
+     * @return the batch, or null if the backlog is empty
+     */
+    private ReplayBatch nextReplayBatch() {
+        EventJournal.Batch journalBatch = null;
+        List<byte[]> outboxFrames = null;
+        List<byte[]> frames;
+        // Journaled events are older than anything in the outbox
+        if (journal != null && (journalBatch = journal.nextBatch(REPLAY_BATCH_FRAMES, REPLAY_BATCH_BYTES)) != null) {
+            frames = journalBatch.getFrames();
+        } else {
+            outboxFrames = outbox.takeBatch(REPLAY_BATCH_FRAMES, REPLAY_BATCH_BYTES);
+            if (outboxFrames.isEmpty()) {
+                return null;
+            }
+            frames = outboxFrames;
+        }
+
+        long target = outbound.getWrittenCount(OutboundScheduler.Lane.REPLAY) + frames.size();
+        for (byte[] frame : frames) {
+            outbound.offer(OutboundScheduler.Lane.REPLAY, frame);
+        }
+        return new ReplayBatch(journalBatch, outboxFrames, frames.size(), target);
+    }
+
+    /**
+     * Drop the batch in flight without consuming it, so it is replayed again after the next
+     * identify. Caller holds the outbox lock.
+     */
+    private void abandonReplay() {
+        outbound.drain(OutboundScheduler.Lane.REPLAY, frame -> { });
+        if (replayBatch != null && replayBatch.outboxFrames() != null) {
+            outbox.restore(replayBatch.outboxFrames());
+        }
+        replayBatch = null;
+    }
+
+    private void handleTakaroRequest(InboundMessage request) {
+        if (request.getRequestId() == null || request.getAction() == null) {
+            plugin.getLogger().at(java.util.logging.Level.WARNING).log(getLogPrefix() + "Ignoring request without requestId or action");
+            return;
+        }
+
+        plugin.getLogger().at(java.util.logging.Level.FINE).log(getLogPrefix() + "Received Takaro request: " + request.getAction());
 
         // Delegate to plugin's request handler, passing this WebSocket for response
-        plugin.handleTakaroRequest(this, requestId, action, payload);
+        plugin.handleTakaroRequest(this, request);
     }
 
-    private void handleError(JsonObject message) {
-        plugin.getLogger().at(java.util.logging.Level.SEVERE).log(getLogPrefix() + "Error: " + message.toString());
+    private void handleError(InboundMessage inbound, String rawMessage) {
+        plugin.getLogger().at(java.util.logging.Level.SEVERE).log(getLogPrefix() + "Error: " + rawMessage);
 
         // Check if this is the "Internal error handling game event" error
-        if (message.has("payload")) {
-            JsonObject payload = message.getAsJsonObject("payload");
-            if (payload.has("message")) {
-                String errorMessage = payload.get("message").getAsString();
-                if ("Internal error handling game event".equals(errorMessage)) {
-                    plugin.getLogger().at(java.util.logging.Level.WARNING).log(getLogPrefix() + "Detected internal error - reconnecting with fresh connection");
-                    // Close and reconnect with fresh websocket connection
-                    // This will trigger onClose() which will call scheduleReconnect()
-                    // The reconnect will send fresh identify with ID and registration tokens
-                    close();
-                    return;
-                }
-            }
+        if ("Internal error handling game event".equals(inbound.getPayload().getString("message"))) {
+            plugin.getLogger().at(java.util.logging.Level.WARNING).log(getLogPrefix() + "Detected internal error - reconnecting with fresh connection");
+            // Close and reconnect with fresh websocket connection
+            // This will trigger onClose() which will call scheduleReconnect()
+            // The reconnect will send fresh identify with ID and registration tokens
+            close();
+            return;
         }
 
         // For other errors, just log and stay connected
@@ -162,7 +433,7 @@ public void sendToTakaro(Map<String, Object> message) {
             plugin.getLogger().at(java.util.logging.Level.WARNING).log(getLogPrefix() + "Cannot send - not connected");
             return;
         }
-        send(gson.toJson(message));
+        outbound.offer(OutboundScheduler.Lane.RESPONSE, gson.toJson(message).getBytes(StandardCharsets.UTF_8));
     }
 
     public void sendResponse(String requestId, Object payload) {
@@ -173,52 +444,202 @@ public void sendResponse(String requestId, Object payload) {
         sendToTakaro(response);
     }
 
-    public void sendGameEvent(String eventType, Map<String, Object> data) {
-        if (!isIdentified) {
+    public void sendGameEvent(GameEvent event) {
+        sendGameEventFrame(event.type(), GameEventSerializer.toFrame(event).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Send an already encoded gameEvent frame. The array is shared with other connections
+     * and must not be modified.
+     */
+    public void sendGameEventFrame(String eventType, byte[] frame) {
+        if (!endpoint.accepts(eventType)) {
             return;
         }
+        synchronized (outbox) {
+            // Queue while not identified, and behind any backlog still waiting to replay
+            if (state.get() != ConnectionState.READY || !isOpen() || hasBacklog()) {
+                // Console logs are not worth replaying and would evict player events
+                if (!"log".equals(eventType)) {
+                    queueForReplay(frame);
+                }
+                return;
+            }
+            // Use FINE level to avoid infinite loop in log forwarding
+            plugin.getLogger().at(java.util.logging.Level.FINE).log(getLogPrefix() + "Sending game event: " + eventType);
+            outbound.offer(OutboundScheduler.Lane.forEvent(eventType), frame);
+        }
+    }
 
-        Map<String, Object> event = new HashMap<>();
-        event.put("type", "gameEvent");
-
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("type", eventType);
-        payload.put("data", data);
-
-        event.put("payload", payload);
+    /**
+     * Hold a frame for replay after the next identify. Caller holds the outbox lock.
+     */
+    private void queueForReplay(byte[] frame) {
+        if (journal != null) {
+            try {
+                journal.append(frame);
+                return;
+            } catch (IOException e) {
+                // Disk full or similar - keep the event in memory instead
+                plugin.getLogger().at(java.util.logging.Level.FINE).log(getLogPrefix() + "Journal append failed: " + e.getMessage());
+            }
+        }
+        outbox.offer(frame);
+    }
 
-        // Use FINE level to avoid infinite loop in log forwarding
-        plugin.getLogger().at(java.util.logging.Level.FINE).log(getLogPrefix() + "Sending game event: " + eventType);
-        sendToTakaro(event);
+    private boolean hasBacklog() {
+        return !outbox.isEmpty() || (journal != null && !journal.isEmpty());
     }
 
+    /**
+     * Move to BACKOFF and schedule a single reconnect. Both onClose and a failed
+     * reconnect() land here; only the caller that wins the transition schedules anything.
+     */
     private void scheduleReconnect() {
-        reconnectAttempts++;
-        int exponentialDelay = Math.min(BASE_RECONNECT_DELAY * (int)Math.pow(2, reconnectAttempts - 1), MAX_RECONNECT_DELAY);
+        ConnectionState current;
+        do {
+            current = state.get();
+            if (current == ConnectionState.CLOSED || current == ConnectionState.BACKOFF) {
+                return;
+            }
+        } while (!transition(current, ConnectionState.BACKOFF));
+
+        int attempt = reconnectAttempts.incrementAndGet();
+        int exponentialDelay = Math.min(BASE_RECONNECT_DELAY * (int)Math.pow(2, Math.min(attempt - 1, 16)), MAX_RECONNECT_DELAY);
         int jitter = (int)(Math.random() * exponentialDelay * 0.25);
         int delayMs = exponentialDelay + jitter;
 
-        plugin.getLogger().at(java.util.logging.Level.INFO).log(getLogPrefix() + "Scheduling reconnect attempt " + reconnectAttempts + " in " + (delayMs / 1000) + "s");
+        plugin.getLogger().at(java.util.logging.Level.INFO).log(getLogPrefix() + "Scheduling reconnect attempt " + attempt + " in " + (delayMs / 1000) + "s");
+
+        try {
+            scheduler.schedule(() -> {
+                if (!transition(ConnectionState.BACKOFF, ConnectionState.CONNECTING)) {
+                    return; // Shut down while waiting
+                }
+                plugin.getLogger().at(java.util.logging.Level.INFO).log(getLogPrefix() + "Attempting to reconnect...");
+                try {
+                    reconnect();
+                } catch (Exception e) {
+                    plugin.getLogger().at(java.util.logging.Level.SEVERE).log(getLogPrefix() + "Reconnect failed: " + e.getMessage());
+                    e.printStackTrace();
+                    // Schedule another reconnect attempt
+                    scheduleReconnect();
+                }
+            }, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Scheduler shut down - we're closing
+        }
+    }
+
+    /**
+     * Atomically move from {@code from} to {@code to}, notifying listeners on success
+     */
+    private boolean transition(ConnectionState from, ConnectionState to) {
+        if (!state.compareAndSet(from, to)) {
+            return false;
+        }
+        fireStateChange(from, to);
+        return true;
+    }
 
-        scheduler.schedule(() -> {
-            plugin.getLogger().at(java.util.logging.Level.INFO).log(getLogPrefix() + "Attempting to reconnect...");
+    private void fireStateChange(ConnectionState from, ConnectionState to) {
+        for (ConnectionState.Listener listener : stateListeners) {
             try {
-                reconnect();
+                listener.onStateChange(this, from, to);
             } catch (Exception e) {
-                plugin.getLogger().at(java.util.logging.Level.SEVERE).log(getLogPrefix() + "Reconnect failed: " + e.getMessage());
-                e.printStackTrace();
-                // Schedule another reconnect attempt
-                scheduleReconnect();
+                plugin.getLogger().at(java.util.logging.Level.WARNING).log(getLogPrefix() + "State listener failed: " + e.getMessage());
             }
-        }, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void addStateListener(ConnectionState.Listener listener) {
+        stateListeners.add(listener);
+    }
+
+    public ConnectionState getState() {
+        return state.get();
+    }
+
+    /**
+     * Send a UTF-8 encoded text frame. The bytes are wrapped rather than copied, so one
+     * encoded frame can be written to several connections (masking works on the frame's
+     * own buffer position, and compression replaces the payload rather than modifying it).
+     */
+    void sendText(byte[] utf8) {
+        TextFrame frame = new TextFrame();
+        frame.setPayload(ByteBuffer.wrap(utf8));
+        frame.setFin(true);
+        frame.setTransferemasked(true); // Client-to-server frames must be masked
+        sendFrame(frame);
+    }
+
+    public TakaroEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Whether permessage-deflate was negotiated on the current connection
+     */
+    public boolean isCompressed() {
+        // The connection negotiates on its own copy of the draft; getDraft() is the unnegotiated prototype
+        Draft draft = getConnection().getDraft();
+        return draft instanceof Draft_6455 && ((Draft_6455) draft).getExtension() instanceof PerMessageDeflateExtension;
     }
 
     public boolean isIdentified() {
-        return isIdentified;
+        return state.get() == ConnectionState.READY;
+    }
+
+    public int getQueuedEventCount() {
+        synchronized (outbox) {
+            return outbox.size() + (journal != null ? (int) Math.min(Integer.MAX_VALUE, journal.size()) : 0);
+        }
+    }
+
+    public long getDroppedEventCount() {
+        synchronized (outbox) {
+            return outbox.getDroppedCount() + (journal != null ? journal.getDroppedCount() : 0);
+        }
+    }
+
+    /**
+     * @return the durable journal, or null if disabled or unavailable
+     */
+    public EventJournal getJournal() {
+        return journal;
+    }
+
+    public RttHistogram getRtt() {
+        return rtt;
+    }
+
+    /**
+     * Milliseconds since anything was last received on this connection
+     */
+    public long getMillisSinceLastInbound() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastInboundNanos);
+    }
+
+    public long getForcedReconnectCount() {
+        return forcedReconnects;
+    }
+
+    public OutboundScheduler getOutbound() {
+        return outbound;
     }
 
     public void shutdown() {
+        ConnectionState previous = state.getAndSet(ConnectionState.CLOSED);
+        if (previous != ConnectionState.CLOSED) {
+            fireStateChange(previous, ConnectionState.CLOSED);
+        }
         scheduler.shutdownNow();
+        outbound.stop();
         close();
+        if (journal != null) {
+            synchronized (outbox) {
+                journal.close();
+            }
+        }
     }
 }